@@ -0,0 +1,123 @@
+package com.mzap.apiservice.catalog;
+
+import com.mzap.apiservice.client.StorageServiceClient;
+import com.mzap.apiservice.dto.MovieDTO;
+import com.mzap.apiservice.dto.PageResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.function.UnaryOperator;
+
+/**
+ * In-memory replica of the storage-service catalog used to answer listing queries locally.
+ * The catalog is streamed page by page on startup and on every refresh; local writes are applied
+ * immediately and replayed on top of a refresh that was already in flight when they happened.
+ * Each write patches a copy of the index under the lock (see {@link MovieIndex}), so writes stay
+ * cheap even while a refresh replays them.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.catalog.replica", name = "enabled", havingValue = "true")
+public class CatalogReplica {
+    private static final Logger logger = LoggerFactory.getLogger(CatalogReplica.class);
+
+    private final StorageServiceClient storageServiceClient;
+    private final int pageSize;
+    private final Duration loadTimeout;
+
+    private final Object lock = new Object();
+    private volatile MovieIndex index = MovieIndex.EMPTY;
+    private volatile boolean ready;
+    private List<UnaryOperator<MovieIndex>> writesDuringRefresh;
+
+    public CatalogReplica(
+            StorageServiceClient storageServiceClient,
+            @Value("${app.catalog.replica.page-size:500}") int pageSize,
+            @Value("${app.catalog.replica.load-timeout:PT30S}") Duration loadTimeout
+    ) {
+        this.storageServiceClient = storageServiceClient;
+        this.pageSize = pageSize;
+        this.loadTimeout = loadTimeout;
+    }
+
+    @Scheduled(fixedDelayString = "${app.catalog.replica.refresh-interval-ms:60000}")
+    public void refresh() {
+        String correlationId = "catalog-replica-" + UUID.randomUUID();
+        synchronized (lock) {
+            writesDuringRefresh = new ArrayList<>();
+        }
+
+        MovieIndex loaded;
+        try {
+            List<MovieDTO> movies = storageServiceClient.streamMovies(correlationId, pageSize)
+                    .collectList()
+                    .block(loadTimeout);
+            loaded = new MovieIndex(movies == null ? List.of() : movies);
+        } catch (Exception exception) {
+            synchronized (lock) {
+                writesDuringRefresh = null;
+            }
+            logger.warn("Catalog replica refresh failed with correlationId: {}, keeping {} movies: {}",
+                    correlationId, index.size(), exception.getMessage());
+            return;
+        }
+
+        synchronized (lock) {
+            for (UnaryOperator<MovieIndex> write : writesDuringRefresh) {
+                loaded = write.apply(loaded);
+            }
+            writesDuringRefresh = null;
+            index = loaded;
+            ready = true;
+        }
+        logger.info("Catalog replica refreshed with correlationId: {}, movies: {}", correlationId, loaded.size());
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public Optional<PageResponse<MovieDTO>> findPage(
+            int page,
+            int size,
+            String title,
+            String genre,
+            Integer yearFrom,
+            Integer yearTo,
+            String sortBy,
+            String sortDir
+    ) {
+        if (!ready) {
+            return Optional.empty();
+        }
+        return index.findPage(page, size, title, genre, yearFrom, yearTo, sortBy, sortDir);
+    }
+
+    public void upsert(MovieDTO movie) {
+        if (movie == null || movie.getId() == null) {
+            return;
+        }
+        apply(current -> current.withMovie(movie));
+    }
+
+    public void remove(Long id) {
+        apply(current -> current.withoutMovie(id));
+    }
+
+    private void apply(UnaryOperator<MovieIndex> write) {
+        synchronized (lock) {
+            index = write.apply(index);
+            if (writesDuringRefresh != null) {
+                writesDuringRefresh.add(write);
+            }
+        }
+    }
+}
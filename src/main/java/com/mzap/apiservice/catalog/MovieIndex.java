@@ -0,0 +1,429 @@
+package com.mzap.apiservice.catalog;
+
+import com.mzap.apiservice.dto.MovieDTO;
+import com.mzap.apiservice.dto.PageResponse;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Function;
+
+/**
+ * Immutable, fully indexed snapshot of the movie catalog. Every index refers to rows by their position.
+ * <p>
+ * Local writes patch a copy: the row keeps its position (new rows are appended), only the bitmaps it
+ * appears in are cloned, and it is moved within the year array and each ordering by binary search, so a
+ * write costs a few array copies of the catalog size instead of a rebuild. Removed rows leave an empty
+ * slot until the next refresh builds a compact index.
+ */
+final class MovieIndex {
+    private static final int GRAM_LENGTH = 3;
+    private static final String DEFAULT_SORT = "id";
+
+    // ties are broken by id, so every row has exactly one place in each ordering
+    private static final Comparator<MovieDTO> BY_ID = Comparator.comparingLong(MovieDTO::getId);
+    private static final Comparator<MovieDTO> BY_YEAR = Comparator.comparingInt(MovieDTO::getReleaseYear).thenComparing(BY_ID);
+    private static final Map<String, Comparator<MovieDTO>> SORTS = Map.of(
+            DEFAULT_SORT, BY_ID,
+            "title", byKey(MovieDTO::getTitle).thenComparing(BY_ID),
+            "genre", byKey(MovieDTO::getGenre).thenComparing(BY_ID),
+            "releaseYear", byKey(MovieDTO::getReleaseYear).thenComparing(BY_ID),
+            "createdAt", Comparator.comparing(MovieDTO::hasCreatedAt, Comparator.reverseOrder())
+                    .thenComparingLong(MovieDTO::createdAtEpochNanos)
+                    .thenComparing(BY_ID)
+    );
+
+    static final MovieIndex EMPTY = new MovieIndex(List.of());
+
+    private final MovieDTO[] movies;
+    private final String[] lowerTitles;
+    private final Map<String, BitSet> genreBitmaps;
+    private final Map<String, BitSet> titleGrams;
+    private final int[] sortedYears;
+    private final int[] yearPositions;
+    private final Map<String, int[]> orderings;
+
+    MovieIndex(Collection<MovieDTO> source) {
+        // the catalog is streamed page by page, so a row may arrive twice; the later copy wins
+        Map<Long, MovieDTO> byId = new TreeMap<>();
+        for (MovieDTO movie : source) {
+            if (movie.getId() != null) {
+                byId.put(movie.getId(), movie);
+            }
+        }
+        this.movies = byId.values().toArray(MovieDTO[]::new);
+        int count = movies.length;
+
+        this.lowerTitles = new String[count];
+        this.genreBitmaps = new HashMap<>();
+        this.titleGrams = new HashMap<>();
+        for (int position = 0; position < count; position++) {
+            MovieDTO movie = movies[position];
+            lowerTitles[position] = lower(movie.getTitle());
+            for (String gram : grams(movie)) {
+                titleGrams.computeIfAbsent(gram, _ -> new BitSet(count)).set(position);
+            }
+            for (String genre : genres(movie)) {
+                genreBitmaps.computeIfAbsent(genre, _ -> new BitSet(count)).set(position);
+            }
+        }
+
+        this.orderings = new HashMap<>();
+        SORTS.forEach((sort, comparator) -> orderings.put(sort, sortedPositions(movies, comparator)));
+        this.yearPositions = sortedPositions(
+                Arrays.stream(movies).filter(movie -> movie.getReleaseYear() != null).toArray(MovieDTO[]::new), BY_YEAR);
+        this.sortedYears = new int[yearPositions.length];
+        for (int i = 0; i < yearPositions.length; i++) {
+            sortedYears[i] = movies[yearPositions[i]].getReleaseYear();
+        }
+    }
+
+    private MovieIndex(
+            MovieDTO[] movies,
+            String[] lowerTitles,
+            Map<String, BitSet> genreBitmaps,
+            Map<String, BitSet> titleGrams,
+            int[] sortedYears,
+            int[] yearPositions,
+            Map<String, int[]> orderings
+    ) {
+        this.movies = movies;
+        this.lowerTitles = lowerTitles;
+        this.genreBitmaps = genreBitmaps;
+        this.titleGrams = titleGrams;
+        this.sortedYears = sortedYears;
+        this.yearPositions = yearPositions;
+        this.orderings = orderings;
+    }
+
+    int size() {
+        return orderings.get(DEFAULT_SORT).length;
+    }
+
+    MovieIndex withMovie(MovieDTO movie) {
+        int position = positionOf(movie.getId());
+        return position < 0
+                ? patch(movies.length, null, movie)
+                : patch(position, movies[position], movie);
+    }
+
+    MovieIndex withoutMovie(Long id) {
+        int position = positionOf(id);
+        return position < 0 ? this : patch(position, movies[position], null);
+    }
+
+    /**
+     * Answers a listing query with the same semantics as storage-service.
+     * Returns empty when the requested sort column is not indexed, so the caller can delegate upstream.
+     */
+    Optional<PageResponse<MovieDTO>> findPage(
+            int page,
+            int size,
+            String title,
+            String genre,
+            Integer yearFrom,
+            Integer yearTo,
+            String sortBy,
+            String sortDir
+    ) {
+        if (page < 0 || size < 1) {
+            return Optional.empty();
+        }
+
+        boolean sorted = sortBy != null && !sortBy.isBlank() && sortDir != null && !sortDir.isBlank();
+        int[] ordering = orderings.get(sorted ? sortBy : DEFAULT_SORT);
+        if (ordering == null || (sorted && !isDirection(sortDir))) {
+            return Optional.empty();
+        }
+        boolean descending = sorted && sortDir.equalsIgnoreCase("desc");
+
+        BitSet matches = null;
+        if (genre != null && !genre.isBlank()) {
+            matches = intersect(matches, genreBitmaps.getOrDefault(lower(genre), new BitSet()));
+        }
+        if (yearFrom != null || yearTo != null) {
+            matches = intersect(matches, yearRange(yearFrom, yearTo));
+        }
+        if (title != null && !title.isBlank()) {
+            matches = intersect(matches, titleMatches(lower(title), matches));
+        }
+
+        long total = matches == null ? ordering.length : matches.cardinality();
+        long offset = (long) page * size;
+        List<MovieDTO> content = new ArrayList<>((int) Math.max(0, Math.min(size, total - offset)));
+        if (offset < total) {
+            collect(ordering, descending, matches, offset, size, content);
+        }
+
+        int totalPages = (int) ((total + size - 1) / size);
+        return Optional.of(new PageResponse<>(content, page, size, total, totalPages, page + 1 >= totalPages));
+    }
+
+    private void collect(int[] ordering, boolean descending, BitSet matches, long offset, int size, List<MovieDTO> content) {
+        if (matches == null) {
+            for (long step = offset; step < ordering.length && content.size() < size; step++) {
+                content.add(movies[at(ordering, descending, (int) step)]);
+            }
+            return;
+        }
+
+        long skipped = 0;
+        for (int step = 0; step < ordering.length && content.size() < size; step++) {
+            int position = at(ordering, descending, step);
+            if (!matches.get(position)) {
+                continue;
+            }
+            if (skipped < offset) {
+                skipped++;
+                continue;
+            }
+            content.add(movies[position]);
+        }
+    }
+
+    private static int at(int[] ordering, boolean descending, int step) {
+        return ordering[descending ? ordering.length - 1 - step : step];
+    }
+
+    private BitSet titleMatches(String needle, BitSet candidates) {
+        BitSet scope = candidates;
+        if (needle.length() >= GRAM_LENGTH) {
+            BitSet grams = null;
+            for (int start = 0; start + GRAM_LENGTH <= needle.length(); start++) {
+                BitSet positions = titleGrams.get(needle.substring(start, start + GRAM_LENGTH));
+                if (positions == null) {
+                    return new BitSet();
+                }
+                grams = intersect(grams, positions);
+            }
+            scope = intersect(scope, grams);
+        }
+
+        BitSet result = new BitSet(movies.length);
+        if (scope == null) {
+            for (int position : orderings.get(DEFAULT_SORT)) {
+                if (lowerTitles[position].contains(needle)) {
+                    result.set(position);
+                }
+            }
+        } else {
+            for (int position = scope.nextSetBit(0); position >= 0; position = scope.nextSetBit(position + 1)) {
+                if (lowerTitles[position].contains(needle)) {
+                    result.set(position);
+                }
+            }
+        }
+        return result;
+    }
+
+    private BitSet yearRange(Integer yearFrom, Integer yearTo) {
+        int from = yearFrom == null ? 0 : lowerBound(yearFrom);
+        int to = yearTo == null ? sortedYears.length : lowerBound(yearTo + 1);
+
+        BitSet result = new BitSet(movies.length);
+        for (int i = from; i < to; i++) {
+            result.set(yearPositions[i]);
+        }
+        return result;
+    }
+
+    private int lowerBound(int year) {
+        int low = 0;
+        int high = sortedYears.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sortedYears[mid] < year) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private int positionOf(Long id) {
+        int[] byId = orderings.get(DEFAULT_SORT);
+        int low = 0;
+        int high = byId.length - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long midId = movies[byId[mid]].getId();
+            if (midId < id) {
+                low = mid + 1;
+            } else if (midId > id) {
+                high = mid - 1;
+            } else {
+                return byId[mid];
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Copy of this index with the row at {@code position} replaced, or removed when {@code replacement} is null.
+     */
+    private MovieIndex patch(int position, MovieDTO previous, MovieDTO replacement) {
+        MovieDTO[] patchedMovies = Arrays.copyOf(movies, Math.max(movies.length, position + 1));
+        String[] patchedTitles = Arrays.copyOf(lowerTitles, patchedMovies.length);
+        patchedMovies[position] = replacement;
+        patchedTitles[position] = replacement == null ? null : lower(replacement.getTitle());
+
+        Map<String, int[]> patchedOrderings = new HashMap<>();
+        SORTS.forEach((sort, comparator) -> {
+            int[] ordering = orderings.get(sort);
+            if (previous != null) {
+                ordering = removeAt(ordering, insertionPoint(ordering, movies, previous, comparator));
+            }
+            if (replacement != null) {
+                ordering = insertAt(ordering, insertionPoint(ordering, patchedMovies, replacement, comparator), position);
+            }
+            patchedOrderings.put(sort, ordering);
+        });
+
+        int[] patchedYearPositions = yearPositions;
+        int[] patchedYears = sortedYears;
+        if (previous != null && previous.getReleaseYear() != null) {
+            int index = insertionPoint(yearPositions, movies, previous, BY_YEAR);
+            patchedYearPositions = removeAt(patchedYearPositions, index);
+            patchedYears = removeAt(patchedYears, index);
+        }
+        if (replacement != null && replacement.getReleaseYear() != null) {
+            int index = insertionPoint(patchedYearPositions, patchedMovies, replacement, BY_YEAR);
+            patchedYearPositions = insertAt(patchedYearPositions, index, position);
+            patchedYears = insertAt(patchedYears, index, replacement.getReleaseYear());
+        }
+
+        return new MovieIndex(
+                patchedMovies,
+                patchedTitles,
+                patchBitmaps(genreBitmaps, position, genres(previous), genres(replacement)),
+                patchBitmaps(titleGrams, position, grams(previous), grams(replacement)),
+                patchedYears,
+                patchedYearPositions,
+                patchedOrderings
+        );
+    }
+
+    /**
+     * Moves {@code position} from the bitmaps of {@code removedFrom} to those of {@code addedTo},
+     * cloning only the bitmaps that change.
+     */
+    private static Map<String, BitSet> patchBitmaps(
+            Map<String, BitSet> bitmaps,
+            int position,
+            Set<String> removedFrom,
+            Set<String> addedTo
+    ) {
+        if (removedFrom.equals(addedTo)) {
+            return bitmaps;
+        }
+        Map<String, BitSet> patched = new HashMap<>(bitmaps);
+        for (String key : removedFrom) {
+            if (!addedTo.contains(key)) {
+                BitSet bits = (BitSet) patched.get(key).clone();
+                bits.clear(position);
+                patched.put(key, bits);
+            }
+        }
+        for (String key : addedTo) {
+            if (!removedFrom.contains(key)) {
+                BitSet existing = patched.get(key);
+                BitSet bits = existing == null ? new BitSet() : (BitSet) existing.clone();
+                bits.set(position);
+                patched.put(key, bits);
+            }
+        }
+        return patched;
+    }
+
+    private static int insertionPoint(int[] ordering, MovieDTO[] rows, MovieDTO movie, Comparator<MovieDTO> comparator) {
+        int low = 0;
+        int high = ordering.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (comparator.compare(rows[ordering[mid]], movie) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    private static int[] removeAt(int[] values, int index) {
+        int[] result = new int[values.length - 1];
+        System.arraycopy(values, 0, result, 0, index);
+        System.arraycopy(values, index + 1, result, index, values.length - index - 1);
+        return result;
+    }
+
+    private static int[] insertAt(int[] values, int index, int value) {
+        int[] result = new int[values.length + 1];
+        System.arraycopy(values, 0, result, 0, index);
+        result[index] = value;
+        System.arraycopy(values, index, result, index + 1, values.length - index);
+        return result;
+    }
+
+    /**
+     * Positions of the given rows in comparator order; only used while rows are still stored in id order.
+     */
+    private int[] sortedPositions(MovieDTO[] rows, Comparator<MovieDTO> comparator) {
+        MovieDTO[] sorted = rows.clone();
+        Arrays.sort(sorted, comparator);
+        int[] positions = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            positions[i] = Arrays.binarySearch(movies, sorted[i], BY_ID);
+        }
+        return positions;
+    }
+
+    private static Set<String> genres(MovieDTO movie) {
+        return movie == null || movie.getGenre() == null ? Set.of() : Set.of(lower(movie.getGenre()));
+    }
+
+    private static Set<String> grams(MovieDTO movie) {
+        if (movie == null) {
+            return Set.of();
+        }
+        String title = lower(movie.getTitle());
+        Set<String> grams = new HashSet<>();
+        for (int start = 0; start + GRAM_LENGTH <= title.length(); start++) {
+            grams.add(title.substring(start, start + GRAM_LENGTH));
+        }
+        return grams;
+    }
+
+    private static <T extends Comparable<? super T>> Comparator<MovieDTO> byKey(Function<MovieDTO, T> key) {
+        return Comparator.comparing(key, Comparator.nullsLast(Comparator.naturalOrder()));
+    }
+
+    private static BitSet intersect(BitSet current, BitSet other) {
+        if (current == null) {
+            return (BitSet) other.clone();
+        }
+        if (other == null) {
+            return current;
+        }
+        current.and(other);
+        return current;
+    }
+
+    private static boolean isDirection(String sortDir) {
+        return sortDir.equalsIgnoreCase("asc") || sortDir.equalsIgnoreCase("desc");
+    }
+
+    private static String lower(String value) {
+        return value == null ? "" : value.toLowerCase(Locale.ROOT);
+    }
+}
@@ -1,27 +1,59 @@
 package com.mzap.apiservice.client;
 
+import com.mzap.apiservice.deadline.Deadline;
+import com.mzap.apiservice.deadline.DeadlineContext;
+import com.mzap.apiservice.deadline.DeadlineExceededException;
+import com.mzap.apiservice.deadline.DeadlineExchangeFilter;
 import com.mzap.apiservice.dto.MovieDTO;
 import com.mzap.apiservice.dto.PageResponse;
 import io.github.resilience4j.circuitbreaker.annotation.CircuitBreaker;
 import io.github.resilience4j.retry.annotation.Retry;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
+import java.time.Duration;
 import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 @Component
 public class StorageServiceClient {
     private final WebClient webClient;
+    private final MediaType[] movieMediaTypes;
+    private final Map<Long, ValidatedMovie> validatedMovies;
+    private final Duration minAttemptBudget;
     public static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
     public static final Logger logger = LoggerFactory.getLogger(StorageServiceClient.class);
 
-    public StorageServiceClient(WebClient.Builder builder) {
+    public StorageServiceClient(
+            WebClient.Builder builder,
+            @Value("${app.storage.accept:application/json}") String accept,
+            @Value("${app.storage.validator-cache-size:10000}") int validatorCacheSize,
+            @Value("${app.deadline.min-attempt-budget:50ms}") Duration minAttemptBudget
+    ) {
         String serviceName = "storage-service";
-        this.webClient = builder.baseUrl("lb://" + serviceName).build();
+        this.webClient = builder
+                .baseUrl("lb://" + serviceName)
+                .filter(new DeadlineExchangeFilter())
+                .build();
+        this.movieMediaTypes = MediaType.parseMediaTypes(accept).toArray(MediaType[]::new);
+        // least recently used movies make room once the cache is full
+        this.validatedMovies = Collections.synchronizedMap(new LinkedHashMap<Long, ValidatedMovie>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, ValidatedMovie> eldest) {
+                return size() > validatorCacheSize;
+            }
+        });
+        this.minAttemptBudget = minAttemptBudget;
     }
 
     @CircuitBreaker(name = "storageService", fallbackMethod = "getMoviesPageFallback")
@@ -60,9 +92,11 @@ public class StorageServiceClient {
                     }
                     return uri.build();
                 })
+                .accept(movieMediaTypes)
                 .header(CORRELATION_ID_HEADER, correlationId)
                 .retrieve()
                 .bodyToMono(new ParameterizedTypeReference<PageResponse<MovieDTO>>() {})
+                .transform(this::withinDeadline)
                 .block();
     }
 
@@ -84,16 +118,74 @@ public class StorageServiceClient {
         return new PageResponse<>(Collections.emptyList(), page, size, 0, 0, true);
     }
 
+    public Flux<MovieDTO> streamMovies(String correlationId, int pageSize) {
+        return fetchMoviesPage(correlationId, 0, pageSize)
+                .expand(response -> response.isLast() || response.getContent().isEmpty()
+                        ? Mono.empty()
+                        : fetchMoviesPage(correlationId, response.getPage() + 1, pageSize))
+                .concatMapIterable(PageResponse::getContent);
+    }
+
+    private Mono<PageResponse<MovieDTO>> fetchMoviesPage(String correlationId, int page, int size) {
+        // a stable order keeps offset pages from overlapping or skipping rows between requests
+        return webClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/movies")
+                        .queryParam("page", page)
+                        .queryParam("size", size)
+                        .queryParam("sort", "id,asc")
+                        .build())
+                .accept(movieMediaTypes)
+                .header(CORRELATION_ID_HEADER, correlationId)
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<PageResponse<MovieDTO>>() {});
+    }
+
+    /**
+     * Minimal listing request outside the circuit breaker and retries, used to open pooled connections
+     * before the instance takes traffic; failures are left to the caller.
+     */
+    public Mono<Void> openConnection(String correlationId) {
+        return webClient
+                .get()
+                .uri(uriBuilder -> uriBuilder.path("/movies")
+                        .queryParam("page", 0)
+                        .queryParam("size", 1)
+                        .build())
+                .accept(movieMediaTypes)
+                .header(CORRELATION_ID_HEADER, correlationId)
+                .retrieve()
+                .toBodilessEntity()
+                .then();
+    }
+
     @CircuitBreaker(name = "storageService", fallbackMethod = "getMovieByIdFallback")
     @Retry(name = "storageService")
     public MovieDTO getMovieById(String correlationId, Long id) {
-        return webClient
+        ValidatedMovie cached = validatedMovies.get(id);
+        ResponseEntity<MovieDTO> response = webClient
                 .get()
                 .uri("/movies/" + id)
+                .accept(movieMediaTypes)
                 .header(CORRELATION_ID_HEADER, correlationId)
+                .headers(headers -> {
+                    if (cached != null) {
+                        headers.setIfNoneMatch(cached.etag());
+                    }
+                })
                 .retrieve()
-                .bodyToMono(MovieDTO.class)
+                .toEntity(MovieDTO.class)
+                .transform(this::withinDeadline)
                 .block();
+
+        if (response == null) {
+            return null;
+        }
+        if (cached != null && response.getStatusCode().isSameCodeAs(HttpStatus.NOT_MODIFIED)) {
+            return cached.movie();
+        }
+        remember(id, response);
+        return response.getBody();
     }
 
     public MovieDTO getMovieByIdFallback(String correlationId, Long id, Exception exception) {
@@ -106,17 +198,16 @@ public class StorageServiceClient {
     @CircuitBreaker(name = "storageService", fallbackMethod = "createMovieFallback")
     @Retry(name = "storageService")
     public MovieDTO createMovie(String correlationId, MovieDTO movie) {
-        movie.setId(null);
-        movie.setCreatedAt(null);
-
         return webClient
                 .post()
                 .uri("/movies")
+                .accept(movieMediaTypes)
                 .header(CORRELATION_ID_HEADER, correlationId)
                 .contentType(MediaType.APPLICATION_JSON)
-                .bodyValue(movie)
+                .bodyValue(movie.withoutIdentity())
                 .retrieve()
                 .bodyToMono(MovieDTO.class)
+                .transform(this::withinDeadline)
                 .block();
     }
     public MovieDTO createMovieFallback(String correlationId, MovieDTO movie, Exception exception) {
@@ -129,14 +220,17 @@ public class StorageServiceClient {
     @CircuitBreaker(name = "storageService", fallbackMethod = "updateMovieFallback")
     @Retry(name = "storageService")
     public MovieDTO updateMovie(String correlationId, Long id, MovieDTO movie) {
+        validatedMovies.remove(id);
         return webClient
                 .put()
                 .uri("/movies/{id}", id)
+                .accept(movieMediaTypes)
                 .header(CORRELATION_ID_HEADER, correlationId)
                 .contentType(MediaType.APPLICATION_JSON)
                 .bodyValue(movie)
                 .retrieve()
                 .bodyToMono(MovieDTO.class)
+                .transform(this::withinDeadline)
                 .block();
     }
 
@@ -149,19 +243,24 @@ public class StorageServiceClient {
 
     @CircuitBreaker(name = "storageService", fallbackMethod = "deleteMovieFallback")
     @Retry(name = "storageService")
-    public void deleteMovie(String correlationId, Long id) {
+    public boolean deleteMovie(String correlationId, Long id) {
+        validatedMovies.remove(id);
         webClient
                 .delete()
                 .uri("/movies/{id}", id)
                 .header(CORRELATION_ID_HEADER, correlationId)
                 .retrieve()
                 .toBodilessEntity()
+                .transform(this::withinDeadline)
                 .block();
+        return true;
     }
 
-    public void deleteMovieFallback(String correlationId, Long id, Exception exception) {
+    public boolean deleteMovieFallback(String correlationId, Long id, Exception exception) {
         logger.warn("Fallback for deleteMovie triggered with correlationId: {}, movie id: {} and exception: {}",
                 correlationId, id, exception.getMessage());
+
+        return false;
     }
 
     @CircuitBreaker(name = "storageService", fallbackMethod = "callChaosFallback")
@@ -184,6 +283,7 @@ public class StorageServiceClient {
                 .header(CORRELATION_ID_HEADER, correlationId)
                 .retrieve()
                 .bodyToMono(String.class)
+                .transform(this::withinDeadline)
                 .block();
     }
 
@@ -193,4 +293,39 @@ public class StorageServiceClient {
         return "Chaos fallback from API (circuit breaker / retry kicked in)";
     }
 
+    /**
+     * Bounds a call by the deadline of the request served on the calling thread. Running out of
+     * budget surfaces as {@link DeadlineExceededException}, which the circuit breaker ignores, so
+     * short client budgets are never counted as storage-service failures.
+     */
+    private <T> Mono<T> withinDeadline(Mono<T> response) {
+        Deadline deadline = DeadlineContext.current();
+        if (deadline == null) {
+            return response;
+        }
+        Duration remaining = deadline.remaining();
+        if (remaining.compareTo(minAttemptBudget) < 0) {
+            return Mono.error(new DeadlineExceededException(
+                    "Deadline leaves " + remaining.toMillis() + " ms, too little to call storage-service"));
+        }
+        return response
+                .timeout(remaining, Mono.error(() -> new DeadlineExceededException(
+                        "Deadline exceeded after " + remaining.toMillis() + " ms waiting for storage-service")))
+                .contextWrite(DeadlineExchangeFilter.withDeadline(deadline));
+    }
+
+    private void remember(Long id, ResponseEntity<MovieDTO> response) {
+        String etag = response.getHeaders().getETag();
+        if (etag == null || response.getBody() == null) {
+            validatedMovies.remove(id);
+        } else {
+            validatedMovies.put(id, new ValidatedMovie(etag, response.getBody()));
+        }
+    }
+
+    /**
+     * Last copy of a movie together with the ETag storage-service sent for it, used for conditional requests.
+     */
+    private record ValidatedMovie(String etag, MovieDTO movie) {
+    }
 }
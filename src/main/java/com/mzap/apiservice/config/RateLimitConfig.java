@@ -0,0 +1,33 @@
+package com.mzap.apiservice.config;
+
+import com.mzap.apiservice.ratelimit.RateLimitProperties;
+import com.mzap.apiservice.ratelimit.RateLimiter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.Scheduled;
+
+@Configuration
+@EnableConfigurationProperties(RateLimitProperties.class)
+public class RateLimitConfig {
+    private static final Logger logger = LoggerFactory.getLogger(RateLimitConfig.class);
+
+    private final RateLimiter rateLimiter;
+
+    public RateLimitConfig(RateLimitProperties properties) {
+        this.rateLimiter = new RateLimiter(properties.capacity(), properties.refillPerSecond());
+    }
+
+    @Bean
+    public RateLimiter rateLimiter() {
+        return rateLimiter;
+    }
+
+    @Scheduled(fixedDelayString = "${app.rate-limit.idle-eviction-interval-ms:60000}")
+    public void evictIdleBuckets() {
+        int evicted = rateLimiter.evictIdle();
+        logger.debug("Evicted {} idle rate limit buckets, {} remaining", evicted, rateLimiter.size());
+    }
+}
@@ -0,0 +1,30 @@
+package com.mzap.apiservice.config;
+
+import com.mzap.apiservice.deadline.DeadlineContext;
+import com.mzap.apiservice.deadline.DeadlineExceededException;
+import io.github.resilience4j.common.retry.configuration.RetryConfigCustomizer;
+import io.github.resilience4j.retry.RetryConfig;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class ResilienceConfig {
+
+    @Bean
+    public RetryConfigCustomizer storageServiceRetryCustomizer(
+            @Value("${resilience4j.retry.instances.storageService.wait-duration:500ms}") Duration waitDuration,
+            @Value("${app.deadline.min-attempt-budget:50ms}") Duration minAttemptBudget
+    ) {
+        // only retry when the caller can still afford the back-off plus an attempt StorageServiceClient will start
+        Duration retryBudget = waitDuration.plus(minAttemptBudget);
+        return RetryConfigCustomizer.of("storageService", builder -> retryWithinBudget(builder, retryBudget));
+    }
+
+    private static void retryWithinBudget(RetryConfig.Builder<?> builder, Duration retryBudget) {
+        builder.retryOnException(exception -> !(exception instanceof DeadlineExceededException)
+                && DeadlineContext.hasBudgetFor(retryBudget));
+    }
+}
@@ -1,12 +1,22 @@
 package com.mzap.apiservice.config;
 
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import io.netty.channel.ChannelOption;
-import io.netty.handler.timeout.ReadTimeoutHandler;
-import io.netty.handler.timeout.WriteTimeoutHandler;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.cloud.client.loadbalancer.LoadBalanced;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.http.codec.cbor.Jackson2CborDecoder;
+import org.springframework.http.codec.cbor.Jackson2CborEncoder;
+import org.springframework.http.codec.json.Jackson2JsonDecoder;
+import org.springframework.http.codec.json.Jackson2JsonEncoder;
+import org.springframework.http.codec.json.Jackson2SmileDecoder;
+import org.springframework.http.codec.json.Jackson2SmileEncoder;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.netty.http.client.HttpClient;
 
@@ -17,17 +27,30 @@ public class WebClientConfig {
 
     @Bean
     @LoadBalanced
-    public WebClient.Builder loadBalancedWebClientBuilder() {
+    public WebClient.Builder loadBalancedWebClientBuilder(
+            @Value("${app.storage.connect-timeout:5s}") Duration connectTimeout,
+            @Value("${app.deadline.max-timeout:30s}") Duration maxTimeout,
+            ObjectProvider<Jackson2ObjectMapperBuilder> objectMapperBuilder
+    ) {
+        // per-call timeouts follow the request deadline (see StorageServiceClient); these are only upper bounds
         HttpClient httpClient = HttpClient
                 .create()
-                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, 5000)
-                .responseTimeout(Duration.ofSeconds(5))
-                .doOnConnected(
-                        connection -> connection
-                                .addHandlerLast(new ReadTimeoutHandler(5))
-                                .addHandlerLast(new WriteTimeoutHandler(5))
-                );
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(maxTimeout);
 
-        return WebClient.builder().clientConnector(new ReactorClientHttpConnector(httpClient));
+        return WebClient.builder()
+                .clientConnector(new ReactorClientHttpConnector(httpClient))
+                .codecs(configurer -> {
+                    // same spring.jackson.* settings and default codec limits (e.g. maxInMemorySize) as JSON
+                    ObjectMapper json = objectMapperBuilder.getObject().build();
+                    ObjectMapper cbor = objectMapperBuilder.getObject().factory(new CBORFactory()).build();
+                    ObjectMapper smile = objectMapperBuilder.getObject().factory(new SmileFactory()).build();
+                    configurer.defaultCodecs().jackson2JsonDecoder(new Jackson2JsonDecoder(json));
+                    configurer.defaultCodecs().jackson2JsonEncoder(new Jackson2JsonEncoder(json));
+                    configurer.customCodecs().registerWithDefaultConfig(new Jackson2CborDecoder(cbor));
+                    configurer.customCodecs().registerWithDefaultConfig(new Jackson2CborEncoder(cbor));
+                    configurer.customCodecs().registerWithDefaultConfig(new Jackson2SmileDecoder(smile));
+                    configurer.customCodecs().registerWithDefaultConfig(new Jackson2SmileEncoder(smile));
+                });
     }
 }
@@ -1,22 +1,47 @@
 package com.mzap.apiservice.config;
 
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
 import com.mzap.apiservice.interceptor.CorrelationIdInterceptor;
+import com.mzap.apiservice.interceptor.DeadlineInterceptor;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.cbor.MappingJackson2CborHttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.smile.MappingJackson2SmileHttpMessageConverter;
 import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
 import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
 
 @Configuration
 public class WebConfig implements WebMvcConfigurer {
     private final CorrelationIdInterceptor correlationIdInterceptor;
+    private final DeadlineInterceptor deadlineInterceptor;
 
     @Autowired
-    public WebConfig(CorrelationIdInterceptor correlationIdInterceptor) {
+    public WebConfig(
+            CorrelationIdInterceptor correlationIdInterceptor,
+            DeadlineInterceptor deadlineInterceptor
+    ) {
         this.correlationIdInterceptor = correlationIdInterceptor;
+        this.deadlineInterceptor = deadlineInterceptor;
     }
 
     @Override
     public void addInterceptors(InterceptorRegistry registry) {
         registry.addInterceptor(correlationIdInterceptor);
+        registry.addInterceptor(deadlineInterceptor);
+    }
+
+    // Boot's HttpMessageConverters puts a converter bean ahead of the default of the same type, so these
+    // replace the plain CBOR/Smile defaults (JSON stays first) and pick up spring.jackson.* settings
+    @Bean
+    public MappingJackson2SmileHttpMessageConverter smileHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2SmileHttpMessageConverter(objectMapperBuilder.factory(new SmileFactory()).build());
+    }
+
+    @Bean
+    public MappingJackson2CborHttpMessageConverter cborHttpMessageConverter(Jackson2ObjectMapperBuilder objectMapperBuilder) {
+        return new MappingJackson2CborHttpMessageConverter(objectMapperBuilder.factory(new CBORFactory()).build());
     }
 }
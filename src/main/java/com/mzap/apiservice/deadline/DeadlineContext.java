@@ -0,0 +1,34 @@
+package com.mzap.apiservice.deadline;
+
+import java.time.Duration;
+
+/**
+ * Holds the deadline of the request being served on the current thread.
+ */
+public final class DeadlineContext {
+    private static final ThreadLocal<Deadline> CURRENT = new ThreadLocal<>();
+
+    private DeadlineContext() {
+    }
+
+    public static void set(Deadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    public static Deadline current() {
+        return CURRENT.get();
+    }
+
+    public static void clear() {
+        CURRENT.remove();
+    }
+
+    /**
+     * Whether the current request can still afford to wait the given time, e.g. a retry back-off.
+     * Calls made outside a request have no deadline and always can.
+     */
+    public static boolean hasBudgetFor(Duration wait) {
+        Deadline deadline = CURRENT.get();
+        return deadline == null || deadline.remaining().compareTo(wait) > 0;
+    }
+}
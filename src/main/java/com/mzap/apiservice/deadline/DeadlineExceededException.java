@@ -0,0 +1,8 @@
+package com.mzap.apiservice.deadline;
+
+public class DeadlineExceededException extends RuntimeException {
+
+    public DeadlineExceededException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,42 @@
+package com.mzap.apiservice.deadline;
+
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import reactor.util.context.Context;
+
+/**
+ * Forwards the remaining budget of the current request downstream and refuses to start
+ * an exchange once it has been spent. The deadline travels in the Reactor context, because
+ * filters registered before this one (e.g. load balancing) may hop to another thread.
+ */
+public class DeadlineExchangeFilter implements ExchangeFilterFunction {
+    public static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout";
+
+    /**
+     * Context to write on the response publisher so the exchange sees the caller's deadline.
+     */
+    public static Context withDeadline(Deadline deadline) {
+        return Context.of(Deadline.class, deadline);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.deferContextual(context -> {
+            Deadline deadline = context.getOrDefault(Deadline.class, null);
+            if (deadline == null) {
+                return next.exchange(request);
+            }
+            if (deadline.isExpired()) {
+                return Mono.error(new DeadlineExceededException("Deadline exceeded before calling " + request.url()));
+            }
+
+            ClientRequest withDeadline = ClientRequest.from(request)
+                    .header(REQUEST_TIMEOUT_HEADER, String.valueOf(Math.max(1, deadline.remaining().toMillis())))
+                    .build();
+            return next.exchange(withDeadline);
+        });
+    }
+}
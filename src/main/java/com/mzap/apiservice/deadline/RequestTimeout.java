@@ -0,0 +1,16 @@
+package com.mzap.apiservice.deadline;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Default time budget of a handler method when the client does not send one,
+ * e.g. {@code "2s"} or a {@code ${...}} placeholder.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface RequestTimeout {
+    String value();
+}
@@ -1,77 +1,133 @@
 package com.mzap.apiservice.dto;
 
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 import jakarta.validation.constraints.Max;
 import jakarta.validation.constraints.Min;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.NotNull;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.concurrent.TimeUnit;
 
-public class MovieDTO {
+/**
+ * Immutable movie row. Identity and timestamps are kept as primitives (createdAt as UTC epoch nanos)
+ * and genres are canonicalised, while the JSON shape stays the same as the storage-service model.
+ */
+public final class MovieDTO {
+    private static final long ABSENT = Long.MIN_VALUE;
+    private static final int NO_YEAR = Integer.MIN_VALUE;
+    private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+    private static final StringPool GENRES = new StringPool(1024);
 
-    private Long id;
+    private final long id;
 
-    private LocalDateTime createdAt;
+    private final long createdAtEpochNanos;
 
     @NotBlank(message = "Title is required")
-    private String title;
+    private final String title;
 
     @NotBlank(message = "Genre is required")
-    private String genre;
+    private final String genre;
 
-    @NotNull
-    @Min(value = 1800, message = "Release year cannot be lower than 1800")
-    @Max(value = 2100, message = "Release year cannot be higher than 2100")
-    private Integer releaseYear;
+    private final int releaseYear;
 
     public MovieDTO() {
+        this(null, null, null, null, null);
     }
 
-    public MovieDTO(Long id, LocalDateTime createdAt, String title, String genre, Integer releaseYear) {
-        this.id = id;
-        this.createdAt = createdAt;
+    @JsonCreator
+    public MovieDTO(
+            @JsonProperty("id") Long id,
+            @JsonProperty("createdAt") LocalDateTime createdAt,
+            @JsonProperty("title") String title,
+            @JsonProperty("genre") String genre,
+            @JsonProperty("releaseYear") Integer releaseYear
+    ) {
+        this.id = id == null ? ABSENT : id;
+        this.createdAtEpochNanos = createdAt == null ? ABSENT : toEpochNanos(createdAt);
         this.title = title;
-        this.genre = genre;
-        this.releaseYear = releaseYear;
+        this.genre = GENRES.canonical(genre);
+        this.releaseYear = releaseYear == null ? NO_YEAR : releaseYear;
     }
 
     public Long getId() {
-        return id;
+        return id == ABSENT ? null : id;
     }
 
-    public void setId(Long id) {
-        this.id = id;
+    public LocalDateTime getCreatedAt() {
+        if (createdAtEpochNanos == ABSENT) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(
+                Math.floorDiv(createdAtEpochNanos, NANOS_PER_SECOND),
+                (int) Math.floorMod(createdAtEpochNanos, NANOS_PER_SECOND),
+                ZoneOffset.UTC
+        );
     }
 
-    public LocalDateTime getCreatedAt() {
-        return createdAt;
+    public String getTitle() {
+        return title;
     }
 
-    public void setCreatedAt(LocalDateTime createdAt) {
-        this.createdAt = createdAt;
+    public String getGenre() {
+        return genre;
     }
 
-    public String getTitle() {
-        return title;
+    @NotNull
+    @Min(value = 1800, message = "Release year cannot be lower than 1800")
+    @Max(value = 2100, message = "Release year cannot be higher than 2100")
+    public Integer getReleaseYear() {
+        return releaseYear == NO_YEAR ? null : releaseYear;
     }
 
-    public void setTitle(String title) {
-        this.title = title;
+    public boolean hasCreatedAt() {
+        return createdAtEpochNanos != ABSENT;
     }
 
-    public String getGenre() {
-        return genre;
+    public long createdAtEpochNanos() {
+        return createdAtEpochNanos;
     }
 
-    public void setGenre(String genre) {
-        this.genre = genre;
+    /**
+     * 64-bit hash of every field, cheap enough to compute per response for strong ETags.
+     */
+    public long contentHash() {
+        long hash = id;
+        hash = 31 * hash + createdAtEpochNanos;
+        hash = 31 * hash + (title == null ? 0 : title.hashCode());
+        hash = 31 * hash + (genre == null ? 0 : genre.hashCode());
+        hash = 31 * hash + releaseYear;
+        return mix(hash);
     }
 
-    public Integer getReleaseYear() {
-        return releaseYear;
+    /**
+     * Copy without server-assigned fields, as sent to storage-service on create.
+     */
+    public MovieDTO withoutIdentity() {
+        return new MovieDTO(null, null, title, genre, getReleaseYear());
+    }
+
+    @Override
+    public String toString() {
+        return "MovieDTO{id=" + getId() + ", createdAt=" + getCreatedAt() + ", title='" + title
+                + "', genre='" + genre + "', releaseYear=" + getReleaseYear() + '}';
+    }
+
+    static long mix(long hash) {
+        hash ^= hash >>> 33;
+        hash *= 0xff51afd7ed558ccdL;
+        hash ^= hash >>> 33;
+        hash *= 0xc4ceb9fe1a85ec53L;
+        hash ^= hash >>> 33;
+        return hash;
     }
 
-    public void setReleaseYear(Integer releaseYear) {
-        this.releaseYear = releaseYear;
+    private static long toEpochNanos(LocalDateTime createdAt) {
+        return Math.addExact(
+                Math.multiplyExact(createdAt.toEpochSecond(ZoneOffset.UTC), NANOS_PER_SECOND),
+                createdAt.getNano()
+        );
     }
 }
@@ -1,20 +1,33 @@
 package com.mzap.apiservice.dto;
 
-import java.util.List;
-
-public class PageResponse<T> {
-
-    private List<T> content;
-    private int page;
-    private int size;
-    private long totalElements;
-    private int totalPages;
-    private boolean last;
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
 
-    public PageResponse() {}
-
-    public PageResponse(List<T> content, int page, int size, long totalElements, int totalPages, boolean last) {
-        this.content = content;
+import java.util.List;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable page of results; content is held in a compact unmodifiable list.
+ */
+public final class PageResponse<T> {
+
+    private final List<T> content;
+    private final int page;
+    private final int size;
+    private final long totalElements;
+    private final int totalPages;
+    private final boolean last;
+
+    @JsonCreator
+    public PageResponse(
+            @JsonProperty("content") List<T> content,
+            @JsonProperty("page") int page,
+            @JsonProperty("size") int size,
+            @JsonProperty("totalElements") long totalElements,
+            @JsonProperty("totalPages") int totalPages,
+            @JsonProperty("last") boolean last
+    ) {
+        this.content = content == null ? List.of() : List.copyOf(content);
         this.page = page;
         this.size = size;
         this.totalElements = totalElements;
@@ -26,47 +39,37 @@ public class PageResponse<T> {
         return content;
     }
 
-    public void setContent(List<T> content) {
-        this.content = content;
-    }
-
     public int getPage() {
         return page;
     }
 
-    public void setPage(int page) {
-        this.page = page;
-    }
-
     public int getSize() {
         return size;
     }
 
-    public void setSize(int size) {
-        this.size = size;
-    }
-
     public long getTotalElements() {
         return totalElements;
     }
 
-    public void setTotalElements(long totalElements) {
-        this.totalElements = totalElements;
-    }
-
     public int getTotalPages() {
         return totalPages;
     }
 
-    public void setTotalPages(int totalPages) {
-        this.totalPages = totalPages;
-    }
-
     public boolean isLast() {
         return last;
     }
 
-    public void setLast(boolean last) {
-        this.last = last;
+    /**
+     * Combines the page metadata with the given per-row hash, e.g. {@link MovieDTO#contentHash()}.
+     */
+    public long contentHash(ToLongFunction<? super T> rowHash) {
+        long hash = 31L * page + size;
+        hash = 31 * hash + totalElements;
+        hash = 31 * hash + totalPages;
+        hash = 31 * hash + (last ? 1 : 0);
+        for (T row : content) {
+            hash = 31 * hash + rowHash.applyAsLong(row);
+        }
+        return MovieDTO.mix(hash);
     }
-}
\ No newline at end of file
+}
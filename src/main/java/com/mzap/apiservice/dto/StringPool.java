@@ -0,0 +1,31 @@
+package com.mzap.apiservice.dto;
+
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Canonical instances for low-cardinality strings. Stops pooling once full so that
+ * unexpected high-cardinality input cannot grow it without bound.
+ */
+final class StringPool {
+    private final ConcurrentHashMap<String, String> values = new ConcurrentHashMap<>();
+    private final int maxSize;
+
+    StringPool(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    String canonical(String value) {
+        if (value == null) {
+            return null;
+        }
+        String canonical = values.get(value);
+        if (canonical != null) {
+            return canonical;
+        }
+        if (values.size() >= maxSize) {
+            return value;
+        }
+        canonical = values.putIfAbsent(value, value);
+        return canonical == null ? value : canonical;
+    }
+}
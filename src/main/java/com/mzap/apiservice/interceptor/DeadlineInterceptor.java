@@ -0,0 +1,97 @@
+package com.mzap.apiservice.interceptor;
+
+import com.mzap.apiservice.deadline.Deadline;
+import com.mzap.apiservice.deadline.DeadlineContext;
+import com.mzap.apiservice.deadline.DeadlineExchangeFilter;
+import com.mzap.apiservice.deadline.RequestTimeout;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.context.EmbeddedValueResolverAware;
+import org.springframework.stereotype.Component;
+import org.springframework.util.StringValueResolver;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+@Component
+public class DeadlineInterceptor implements HandlerInterceptor, EmbeddedValueResolverAware {
+    private static final Logger logger = LoggerFactory.getLogger(DeadlineInterceptor.class);
+    public static final String REQUEST_TIMEOUT_HEADER = DeadlineExchangeFilter.REQUEST_TIMEOUT_HEADER;
+
+    private final Duration defaultTimeout;
+    private final Duration maxTimeout;
+    private final Map<Method, Duration> endpointTimeouts = new ConcurrentHashMap<>();
+    private StringValueResolver valueResolver;
+
+    public DeadlineInterceptor(
+            @Value("${app.deadline.default-timeout:5s}") Duration defaultTimeout,
+            @Value("${app.deadline.max-timeout:30s}") Duration maxTimeout
+    ) {
+        this.defaultTimeout = defaultTimeout;
+        this.maxTimeout = maxTimeout;
+    }
+
+    @Override
+    public void setEmbeddedValueResolver(StringValueResolver resolver) {
+        this.valueResolver = resolver;
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Duration budget = requestedTimeout(request);
+        if (budget == null) {
+            budget = endpointTimeout(handler);
+        }
+        if (budget.compareTo(maxTimeout) > 0) {
+            budget = maxTimeout;
+        }
+
+        logger.debug("Request deadline set to {} ms", budget.toMillis());
+        DeadlineContext.set(Deadline.after(budget));
+        return true;
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        DeadlineContext.clear();
+    }
+
+    private Duration requestedTimeout(HttpServletRequest request) {
+        String header = request.getHeader(REQUEST_TIMEOUT_HEADER);
+        if (header == null || header.isBlank()) {
+            return null;
+        }
+        try {
+            long millis = Long.parseLong(header.trim());
+            if (millis > 0) {
+                return Duration.ofMillis(millis);
+            }
+        } catch (NumberFormatException _) {
+            // fall through to the endpoint default
+        }
+        logger.debug("Ignoring invalid {}: {}", REQUEST_TIMEOUT_HEADER, header);
+        return null;
+    }
+
+    private Duration endpointTimeout(Object handler) {
+        if (!(handler instanceof HandlerMethod handlerMethod)) {
+            return defaultTimeout;
+        }
+        return endpointTimeouts.computeIfAbsent(handlerMethod.getMethod(), method -> {
+            RequestTimeout annotation = method.getAnnotation(RequestTimeout.class);
+            if (annotation == null) {
+                return defaultTimeout;
+            }
+            String value = valueResolver == null ? annotation.value() : valueResolver.resolveStringValue(annotation.value());
+            return DurationStyle.detectAndParse(value);
+        });
+    }
+}
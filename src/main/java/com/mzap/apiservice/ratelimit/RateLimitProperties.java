@@ -0,0 +1,44 @@
+package com.mzap.apiservice.ratelimit;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+import org.springframework.util.AntPathMatcher;
+
+import java.util.List;
+
+@ConfigurationProperties(prefix = "app.rate-limit")
+public record RateLimitProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("100") long capacity,
+        @DefaultValue("20") long refillPerSecond,
+        @DefaultValue("1") int defaultCost,
+        List<EndpointCost> endpoints
+) {
+
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    public RateLimitProperties {
+        endpoints = endpoints == null ? List.of() : List.copyOf(endpoints);
+    }
+
+    /**
+     * Token cost of a request: the first matching endpoint cost, otherwise the default cost.
+     */
+    public int costOf(String method, String path) {
+        for (EndpointCost endpoint : endpoints) {
+            boolean methodMatches = endpoint.method() == null
+                    || endpoint.method().isBlank()
+                    || endpoint.method().equalsIgnoreCase(method);
+            if (methodMatches && PATH_MATCHER.match(endpoint.pattern(), path)) {
+                return endpoint.cost();
+            }
+        }
+        return defaultCost;
+    }
+
+    /**
+     * Token cost of requests matching an HTTP method (any when blank) and an Ant-style path pattern.
+     */
+    public record EndpointCost(String method, String pattern, int cost) {
+    }
+}
@@ -0,0 +1,98 @@
+package com.mzap.apiservice.ratelimit;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Lock-free token bucket store implemented with the generic cell rate algorithm.
+ * Each key holds a single "theoretical arrival time" updated by CAS, so concurrent subjects never
+ * contend with each other and a bucket costs one map entry plus one {@link AtomicLong}.
+ */
+public class RateLimiter {
+    // marks a bucket taken out of the map by eviction; charges that find it retry on a fresh bucket
+    private static final long DETACHED = Long.MIN_VALUE;
+
+    private final ConcurrentHashMap<String, AtomicLong> buckets = new ConcurrentHashMap<>(1 << 16);
+    private final long capacity;
+    private final long emissionIntervalNanos;
+    private final long toleranceNanos;
+    private final LongSupplier nanoClock;
+
+    public RateLimiter(long capacity, long refillPerSecond) {
+        this(capacity, refillPerSecond, System::nanoTime);
+    }
+
+    RateLimiter(long capacity, long refillPerSecond, LongSupplier nanoClock) {
+        if (capacity < 1 || refillPerSecond < 1) {
+            throw new IllegalArgumentException("Rate limit capacity and refill rate must be positive");
+        }
+        this.capacity = capacity;
+        this.emissionIntervalNanos = TimeUnit.SECONDS.toNanos(1) / refillPerSecond;
+        this.toleranceNanos = capacity * emissionIntervalNanos;
+        this.nanoClock = nanoClock;
+    }
+
+    public Decision tryConsume(String key, int cost) {
+        long now = nanoClock.getAsLong();
+        AtomicLong bucket = buckets.get(key);
+        if (bucket == null) {
+            bucket = attach(key, now);
+        }
+
+        while (true) {
+            long arrival = bucket.get();
+            if (arrival == DETACHED) {
+                bucket = attach(key, now);
+                continue;
+            }
+            long base = Math.max(arrival, now);
+            long next = base + cost * emissionIntervalNanos;
+            if (next - now > toleranceNanos) {
+                long available = (toleranceNanos - (base - now)) / emissionIntervalNanos;
+                return new Decision(false, capacity, available, toSeconds(base - now), toSeconds(next - now - toleranceNanos));
+            }
+            if (bucket.compareAndSet(arrival, next)) {
+                long available = (toleranceNanos - (next - now)) / emissionIntervalNanos;
+                return new Decision(true, capacity, available, toSeconds(next - now), 0);
+            }
+        }
+    }
+
+    /**
+     * Drops buckets that have refilled completely; a full bucket is indistinguishable from a new one.
+     * A bucket is detached by CAS before it is removed, so a concurrent charge either lands first and
+     * keeps it, or sees it detached and retries on a new bucket.
+     */
+    public int evictIdle() {
+        long now = nanoClock.getAsLong();
+        int evicted = 0;
+        for (Map.Entry<String, AtomicLong> entry : buckets.entrySet()) {
+            AtomicLong bucket = entry.getValue();
+            long arrival = bucket.get();
+            if (arrival != DETACHED && arrival <= now && bucket.compareAndSet(arrival, DETACHED)) {
+                buckets.remove(entry.getKey(), bucket);
+                evicted++;
+            }
+        }
+        return evicted;
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    private AtomicLong attach(String key, long now) {
+        return buckets.compute(key, (_, existing) ->
+                existing == null || existing.get() == DETACHED ? new AtomicLong(now) : existing);
+    }
+
+    private static long toSeconds(long nanos) {
+        return (nanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1);
+    }
+
+    public record Decision(boolean allowed, long limit, long remaining, long resetSeconds, long retryAfterSeconds) {
+    }
+}
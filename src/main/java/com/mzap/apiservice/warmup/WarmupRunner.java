@@ -0,0 +1,243 @@
+package com.mzap.apiservice.warmup;
+
+import com.mzap.apiservice.client.StorageServiceClient;
+import com.mzap.apiservice.deadline.Deadline;
+import com.mzap.apiservice.deadline.DeadlineExchangeFilter;
+import com.mzap.apiservice.dto.MovieDTO;
+import com.mzap.apiservice.dto.PageResponse;
+import com.mzap.apiservice.ratelimit.RateLimitProperties;
+import com.nimbusds.jose.jwk.source.ImmutableSecret;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.Response;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.core.env.Environment;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.security.oauth2.jose.jws.MacAlgorithm;
+import org.springframework.security.oauth2.jwt.JwsHeader;
+import org.springframework.security.oauth2.jwt.JwtClaimsSet;
+import org.springframework.security.oauth2.jwt.JwtEncoder;
+import org.springframework.security.oauth2.jwt.JwtEncoderParameters;
+import org.springframework.security.oauth2.jwt.NimbusJwtEncoder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Warms the instance up before it reports ready. Application runners complete before Spring Boot
+ * publishes {@code ReadinessState.ACCEPTING_TRAFFIC}, so readiness (and, through the health check,
+ * the Eureka status) stays down until storage-service is resolved, pooled connections are open
+ * and the hot endpoints have been exercised end to end.
+ * <p>
+ * Warm-up traffic must not decide the {@code storageService} circuit breaker for real requests:
+ * connections are opened outside it, endpoints are only exercised once storage-service answered,
+ * calls stop at the first failure the breaker records, and failures recorded during warm-up are reset.
+ * <p>
+ * All loopback calls are charged to the warm-up subject's rate limit bucket, which starts full, so iterations
+ * are capped at what its capacity covers; a rejected call would end warm-up early.
+ */
+@Component
+@ConditionalOnProperty(prefix = "app.warmup", name = "enabled", havingValue = "true")
+public class WarmupRunner implements ApplicationRunner {
+    private static final Logger logger = LoggerFactory.getLogger(WarmupRunner.class);
+    private static final String STORAGE_SERVICE = "storage-service";
+    private static final String STORAGE_CIRCUIT_BREAKER = "storageService";
+    private static final String WARMUP_SUBJECT = "api-service-warmup";
+
+    private final ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory;
+    private final StorageServiceClient storageServiceClient;
+    private final CircuitBreakerRegistry circuitBreakerRegistry;
+    private final RateLimitProperties rateLimitProperties;
+    private final Environment environment;
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+    // tokens are minted only here, for the loopback calls, and never exposed as a bean
+    private final JwtEncoder jwtEncoder;
+    private final Duration timeout;
+    private final int connections;
+    private final int iterations;
+
+    public WarmupRunner(
+            ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory,
+            StorageServiceClient storageServiceClient,
+            CircuitBreakerRegistry circuitBreakerRegistry,
+            RateLimitProperties rateLimitProperties,
+            Environment environment,
+            ObjectProvider<MeterRegistry> meterRegistry,
+            @Value("${app.jwt.secret}") String jwtSecret,
+            @Value("${app.warmup.timeout:30s}") Duration timeout,
+            @Value("${app.warmup.connections:4}") int connections,
+            @Value("${app.warmup.iterations:16}") int iterations
+    ) {
+        this.loadBalancerFactory = loadBalancerFactory;
+        this.storageServiceClient = storageServiceClient;
+        this.circuitBreakerRegistry = circuitBreakerRegistry;
+        this.rateLimitProperties = rateLimitProperties;
+        this.environment = environment;
+        this.meterRegistry = meterRegistry;
+        byte[] secretBytes = jwtSecret.getBytes(StandardCharsets.UTF_8);
+        this.jwtEncoder = new NimbusJwtEncoder(new ImmutableSecret<>(new SecretKeySpec(secretBytes, "HmacSHA256")));
+        this.timeout = timeout;
+        this.connections = connections;
+        this.iterations = iterations;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        long start = System.nanoTime();
+        Deadline deadline = Deadline.after(timeout);
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker(STORAGE_CIRCUIT_BREAKER);
+        int failuresBefore = circuitBreaker.getMetrics().getNumberOfFailedCalls();
+
+        if (resolveStorageService(deadline) && openStorageConnections(deadline)) {
+            exerciseEndpoints(deadline, circuitBreaker, failuresBefore);
+        } else {
+            logger.warn("Warm-up skipped endpoint calls because storage-service is not reachable");
+        }
+        if (circuitBreaker.getMetrics().getNumberOfFailedCalls() > failuresBefore) {
+            logger.warn("Warm-up calls failed through circuit breaker {}, resetting it before taking traffic",
+                    STORAGE_CIRCUIT_BREAKER);
+            circuitBreaker.reset();
+        }
+
+        long warmupMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        meterRegistry.ifAvailable(registry -> TimeGauge
+                .builder("application.warmup.time", () -> warmupMillis, TimeUnit.MILLISECONDS)
+                .description("Time taken to warm up the application before reporting ready")
+                .register(registry));
+        logger.info("Warm-up completed in {} ms, {} ms after JVM start",
+                warmupMillis, ManagementFactory.getRuntimeMXBean().getUptime());
+    }
+
+    private boolean resolveStorageService(Deadline deadline) {
+        ReactiveLoadBalancer<ServiceInstance> loadBalancer = loadBalancerFactory.getInstance(STORAGE_SERVICE);
+        while (!deadline.isExpired()) {
+            try {
+                Response<ServiceInstance> response = Mono.from(loadBalancer.choose()).block(deadline.remaining());
+                if (response != null && response.hasServer()) {
+                    logger.info("Warm-up resolved {} to {}", STORAGE_SERVICE, response.getServer().getUri());
+                    return true;
+                }
+                Thread.sleep(500);
+            } catch (InterruptedException _) {
+                Thread.currentThread().interrupt();
+                return false;
+            } catch (Exception exception) {
+                logger.warn("Warm-up could not resolve {}: {}", STORAGE_SERVICE, exception.getMessage());
+                return false;
+            }
+        }
+        logger.warn("Warm-up found no {} instance within {}", STORAGE_SERVICE, timeout);
+        return false;
+    }
+
+    private boolean openStorageConnections(Deadline deadline) {
+        try {
+            // concurrent calls make the connection pool open one connection per call
+            Flux.range(0, connections)
+                    .flatMap(i -> storageServiceClient.openConnection("warmup-connection-" + i), connections)
+                    .then()
+                    .block(deadline.remaining());
+            return true;
+        } catch (Exception exception) {
+            logger.warn("Warm-up could not open storage-service connections: {}", exception.getMessage());
+            return false;
+        }
+    }
+
+    private void exerciseEndpoints(Deadline deadline, CircuitBreaker circuitBreaker, int failuresBefore) {
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (port == null) {
+            logger.warn("Warm-up skipped endpoint calls, no local server port");
+            return;
+        }
+
+        WebClient loopback = WebClient.builder()
+                .baseUrl("http://localhost:" + port)
+                .defaultHeaders(headers -> headers.setBearerAuth(issueToken()))
+                .build();
+        int affordableIterations = affordableIterations();
+        // one call at a time, so a storage-service failure is noticed before it can trip the breaker
+        for (int i = 0; i < affordableIterations && !deadline.isExpired(); i++) {
+            if (circuitBreaker.getMetrics().getNumberOfFailedCalls() > failuresBefore) {
+                logger.warn("Warm-up stopped endpoint calls after {} iterations, storage-service calls failed", i);
+                return;
+            }
+            try {
+                exercise(loopback, "warmup-" + i, deadline).block(deadline.remaining());
+            } catch (Exception exception) {
+                logger.warn("Warm-up endpoint calls failed: {}", exception.getMessage());
+                return;
+            }
+        }
+    }
+
+    private int affordableIterations() {
+        if (!rateLimitProperties.enabled()) {
+            return iterations;
+        }
+        // same calls as exercise(): a listing and a single movie
+        int iterationCost = rateLimitProperties.costOf(HttpMethod.GET.name(), "/movies")
+                + rateLimitProperties.costOf(HttpMethod.GET.name(), "/movies/0");
+        long affordable = rateLimitProperties.capacity() / Math.max(1, iterationCost);
+        if (iterations > affordable) {
+            logger.warn("Warm-up limited to {} of {} iterations by the rate limit capacity of {} tokens",
+                    affordable, iterations, rateLimitProperties.capacity());
+            return (int) affordable;
+        }
+        return iterations;
+    }
+
+    private Mono<PageResponse<MovieDTO>> exercise(WebClient loopback, String correlationId, Deadline deadline) {
+        return loopback.get()
+                .uri(uriBuilder -> uriBuilder.path("/movies").queryParam("size", 10).build())
+                .headers(headers -> warmupHeaders(headers, correlationId, deadline))
+                .retrieve()
+                .bodyToMono(new ParameterizedTypeReference<PageResponse<MovieDTO>>() {})
+                .flatMap(page -> page.getContent().isEmpty()
+                        ? Mono.just(page)
+                        : loopback.get()
+                                .uri("/movies/{id}", page.getContent().getFirst().getId())
+                                .headers(headers -> warmupHeaders(headers, correlationId, deadline))
+                                .retrieve()
+                                .bodyToMono(MovieDTO.class)
+                                .thenReturn(page));
+    }
+
+    private static void warmupHeaders(HttpHeaders headers, String correlationId, Deadline deadline) {
+        // the warm-up budget, not the endpoint default, bounds every call
+        headers.set(StorageServiceClient.CORRELATION_ID_HEADER, correlationId);
+        headers.set(DeadlineExchangeFilter.REQUEST_TIMEOUT_HEADER,
+                String.valueOf(Math.max(1, deadline.remaining().toMillis())));
+    }
+
+    private String issueToken() {
+        Instant now = Instant.now();
+        JwtClaimsSet claims = JwtClaimsSet.builder()
+                .subject(WARMUP_SUBJECT)
+                .issuedAt(now)
+                .expiresAt(now.plus(timeout))
+                .build();
+        JwsHeader header = JwsHeader.with(MacAlgorithm.HS256).build();
+        return jwtEncoder.encode(JwtEncoderParameters.from(header, claims)).getTokenValue();
+    }
+}
@@ -0,0 +1,87 @@
+package com.mzap.apiservice.web;
+
+import com.mzap.apiservice.dto.MovieDTO;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Derives {@code Last-Modified} for movies. Storage-service only exposes {@code createdAt}, so a version is
+ * stamped when this instance first observes (or makes) it, with the next whole second and always at least a
+ * second after the stamp of the version it replaces, since HTTP dates cannot tell apart versions seen within
+ * one second.
+ * <p>
+ * A stamp is only sent once the storage read that returned the version started at or after it. That version
+ * was then still current after its stamp, so every version before it, and any stamp another instance (with a
+ * synchronized clock) gave one of those, is strictly older. Until then, and for content that reverts to a state
+ * this instance already stamped, only the {@code ETag} validates the response.
+ * <p>
+ * Only the most recently used movies are tracked, since movies deleted elsewhere are never removed here. An
+ * evicted movie is stamped afresh when seen again; the new stamp is later than any stamp already sent for it.
+ */
+@Component
+public class ModificationTracker {
+    private static final long SECOND_MILLIS = 1_000;
+
+    private final Map<Long, Version> versions;
+    private final Clock clock;
+
+    @Autowired
+    public ModificationTracker(@Value("${app.storage.validator-cache-size:10000}") int maxTracked) {
+        this(Clock.systemUTC(), maxTracked);
+    }
+
+    ModificationTracker(Clock clock, int maxTracked) {
+        this.clock = clock;
+        this.versions = Collections.synchronizedMap(new LinkedHashMap<Long, Version>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Long, Version> eldest) {
+                return size() > maxTracked;
+            }
+        });
+    }
+
+    /**
+     * Returns the stamp of the given version, or empty while it cannot yet be sent safely.
+     *
+     * @param readStartedAtMillis wall-clock time at which the storage read returning {@code movie} started
+     */
+    public Optional<Instant> lastModified(MovieDTO movie, long readStartedAtMillis) {
+        long stamp = observe(movie).stampMillis();
+        return stamp <= readStartedAtMillis ? Optional.of(Instant.ofEpochMilli(stamp)) : Optional.empty();
+    }
+
+    public void modified(MovieDTO movie) {
+        if (movie != null && movie.getId() != null) {
+            observe(movie);
+        }
+    }
+
+    public void removed(Long id) {
+        versions.remove(id);
+    }
+
+    private Version observe(MovieDTO movie) {
+        long hash = movie.contentHash();
+        return versions.compute(movie.getId(), (_, known) -> {
+            if (known != null && known.hash() == hash) {
+                return known;
+            }
+            long stamp = (clock.millis() / SECOND_MILLIS + 1) * SECOND_MILLIS;
+            if (known != null) {
+                stamp = Math.max(stamp, known.stampMillis() + SECOND_MILLIS);
+            }
+            return new Version(hash, stamp);
+        });
+    }
+
+    private record Version(long hash, long stampMillis) {
+    }
+}
@@ -1,6 +1,8 @@
 package com.mzap.apiservice.web;
 
+import com.mzap.apiservice.catalog.CatalogReplica;
 import com.mzap.apiservice.client.StorageServiceClient;
+import com.mzap.apiservice.deadline.RequestTimeout;
 import com.mzap.apiservice.dto.MovieDTO;
 import com.mzap.apiservice.dto.PageResponse;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
@@ -8,10 +10,13 @@ import jakarta.validation.Valid;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.slf4j.MDC;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.util.Optional;
+
 @RestController
 @RequestMapping("/movies")
 @SecurityRequirement(name = "bearerAuth")
@@ -20,13 +25,22 @@ public class MovieApiController {
     public static final String CORRELATION_ID_HEADER = "X-Correlation-ID";
 
     private final StorageServiceClient storageServiceClient;
+    private final Optional<CatalogReplica> catalogReplica;
+    private final ModificationTracker modificationTracker;
 
-    public MovieApiController(StorageServiceClient storageServiceClient) {
+    public MovieApiController(
+            StorageServiceClient storageServiceClient,
+            Optional<CatalogReplica> catalogReplica,
+            ModificationTracker modificationTracker
+    ) {
         this.storageServiceClient = storageServiceClient;
+        this.catalogReplica = catalogReplica;
+        this.modificationTracker = modificationTracker;
     }
 
     @GetMapping
-    public PageResponse<MovieDTO> listMovies(
+    @RequestTimeout("${app.deadline.endpoints.list:3s}")
+    public ResponseEntity<PageResponse<MovieDTO>> listMovies(
             @RequestParam(defaultValue = "0") int page,
             @RequestParam(defaultValue = "10") int size,
             @RequestParam(required = false) String title,
@@ -34,32 +48,59 @@ public class MovieApiController {
             @RequestParam(required = false) Integer yearFrom,
             @RequestParam(required = false) Integer yearTo,
             @RequestParam(required = false) String sortBy,
-            @RequestParam(required = false) String sortDir
+            @RequestParam(required = false) String sortDir,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
     ) {
         String correlationId = MDC.get(CORRELATION_ID_HEADER);
         logger.info("API SERVICE: GET /movies correlationId={}", correlationId);
 
-        return storageServiceClient.getMoviesPage(correlationId, page, size, title, genre, yearFrom, yearTo, sortBy, sortDir);
+        PageResponse<MovieDTO> movies = catalogReplica
+                .flatMap(replica -> replica.findPage(page, size, title, genre, yearFrom, yearTo, sortBy, sortDir))
+                .orElseGet(() -> storageServiceClient.getMoviesPage(correlationId, page, size, title, genre, yearFrom, yearTo, sortBy, sortDir));
+
+        // ETag only: a row leaving the page changes it without advancing any row's Last-Modified
+        return ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(etag(movies.contentHash(MovieDTO::contentHash), accept))
+                .body(movies);
     }
 
     @GetMapping("/{id}")
-    public MovieDTO getMovie(@PathVariable Long id) {
+    @RequestTimeout("${app.deadline.endpoints.get:2s}")
+    public ResponseEntity<MovieDTO> getMovie(
+            @PathVariable Long id,
+            @RequestHeader(value = HttpHeaders.ACCEPT, required = false) String accept
+    ) {
         String correlationId = MDC.get(CORRELATION_ID_HEADER);
         logger.info("API SERVICE: GET /movies/{} correlationId={}", id, correlationId);
 
-        return storageServiceClient.getMovieById(correlationId, id);
+        long readStartedAt = System.currentTimeMillis();
+        MovieDTO movie = storageServiceClient.getMovieById(correlationId, id);
+        if (movie == null || movie.getId() == null) {
+            return ResponseEntity.ok(movie);
+        }
+        // a matching If-None-Match / If-Modified-Since is answered with 304 before the body is serialized
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+                .varyBy(HttpHeaders.ACCEPT)
+                .eTag(etag(movie.contentHash(), accept));
+        modificationTracker.lastModified(movie, readStartedAt).ifPresent(response::lastModified);
+        return response.body(movie);
     }
 
     @PostMapping
+    @RequestTimeout("${app.deadline.endpoints.write:5s}")
     public ResponseEntity<MovieDTO> createMovie(@Valid @RequestBody MovieDTO movie) {
         String correlationId = MDC.get(CORRELATION_ID_HEADER);
         logger.info("API SERVICE: POST /movies correlationId={}", correlationId);
         MovieDTO created = storageServiceClient.createMovie(correlationId, movie);
+        catalogReplica.ifPresent(replica -> replica.upsert(created));
+        modificationTracker.modified(created);
 
         return ResponseEntity.status(HttpStatus.CREATED).body(created);
     }
 
     @PutMapping("/{id}")
+    @RequestTimeout("${app.deadline.endpoints.write:5s}")
     public ResponseEntity<MovieDTO> updateMovie(
             @PathVariable Long id,
             @Valid @RequestBody MovieDTO movie
@@ -68,6 +109,8 @@ public class MovieApiController {
         logger.info("API SERVICE: PUT /movies/{} correlationId={}", id, correlationId);
         try {
             MovieDTO updated = storageServiceClient.updateMovie(correlationId, id, movie);
+            catalogReplica.ifPresent(replica -> replica.upsert(updated));
+            modificationTracker.modified(updated);
             return ResponseEntity.ok(updated);
         } catch (Exception _) {
             logger.warn("Movie {} not found for update", id);
@@ -76,10 +119,15 @@ public class MovieApiController {
     }
 
     @DeleteMapping("/{id}")
+    @RequestTimeout("${app.deadline.endpoints.write:5s}")
     public ResponseEntity<Void> deleteMovie(@PathVariable Long id) {
         String correlationId = MDC.get(CORRELATION_ID_HEADER);
         logger.info("API SERVICE: DELETE /movies/{} correlationId={}", id, correlationId);
-        storageServiceClient.deleteMovie(correlationId, id);
+        // the fallback swallows storage failures, so local state only follows a confirmed delete
+        if (storageServiceClient.deleteMovie(correlationId, id)) {
+            catalogReplica.ifPresent(replica -> replica.remove(id));
+            modificationTracker.removed(id);
+        }
         return ResponseEntity.noContent().build();
     }
 
@@ -94,4 +142,13 @@ public class MovieApiController {
         String result = storageServiceClient.callChaos(correlationId, delay, errorRate);
         return ResponseEntity.ok(result);
     }
+
+    /**
+     * JSON, CBOR and Smile are negotiated from {@code Accept} alone, so folding it into the tag keeps
+     * strong validators distinct per representation.
+     */
+    private static String etag(long hash, String accept) {
+        int representation = accept == null || accept.isBlank() ? 0 : accept.trim().hashCode();
+        return '"' + Long.toHexString(hash) + '-' + Integer.toHexString(representation) + '"';
+    }
 }
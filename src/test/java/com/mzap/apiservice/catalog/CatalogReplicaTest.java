@@ -0,0 +1,72 @@
+package com.mzap.apiservice.catalog;
+
+import com.mzap.apiservice.client.StorageServiceClient;
+import com.mzap.apiservice.dto.MovieDTO;
+import com.mzap.apiservice.dto.PageResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+
+class CatalogReplicaTest {
+
+    private final StorageServiceClient storageServiceClient = Mockito.mock(StorageServiceClient.class);
+    private final CatalogReplica replica = new CatalogReplica(storageServiceClient, 100, Duration.ofSeconds(5));
+
+    @Test
+    @DisplayName("Writes made while a refresh is loading are replayed on the loaded snapshot")
+    void replaysWritesDuringRefresh() {
+        MovieDTO heat = movie(1L, "Heat");
+        MovieDTO up = movie(2L, "Up");
+        MovieDTO created = movie(3L, "Interstellar");
+        // the snapshot is read before the writes land, so it still has "Up" and lacks the new movie
+        Mockito.when(storageServiceClient.streamMovies(any(), anyInt())).thenReturn(Flux.defer(() -> {
+            replica.upsert(created);
+            replica.remove(2L);
+            return Flux.just(heat, up);
+        }));
+
+        replica.refresh();
+
+        assertTrue(replica.isReady());
+        assertEquals(List.of(1L, 3L), ids(replica.findPage(0, 10, null, null, null, null, null, null).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("A failed refresh keeps the previous snapshot")
+    void failedRefreshKeepsSnapshot() {
+        Mockito.when(storageServiceClient.streamMovies(any(), anyInt())).thenReturn(Flux.just(movie(1L, "Heat")));
+        replica.refresh();
+
+        Mockito.when(storageServiceClient.streamMovies(any(), anyInt()))
+                .thenReturn(Flux.error(new IllegalStateException("storage-service unavailable")));
+        replica.refresh();
+
+        assertEquals(List.of(1L), ids(replica.findPage(0, 10, null, null, null, null, null, null).orElseThrow()));
+    }
+
+    @Test
+    @DisplayName("Listings are delegated until the first refresh completes")
+    void notReadyBeforeFirstRefresh() {
+        replica.upsert(movie(1L, "Heat"));
+
+        assertFalse(replica.isReady());
+        assertTrue(replica.findPage(0, 10, null, null, null, null, null, null).isEmpty());
+    }
+
+    private static MovieDTO movie(Long id, String title) {
+        return new MovieDTO(id, LocalDateTime.of(2024, 1, 1, 0, 0), title, "Drama", 2000);
+    }
+
+    private static List<Long> ids(PageResponse<MovieDTO> page) {
+        return page.getContent().stream().map(MovieDTO::getId).toList();
+    }
+}
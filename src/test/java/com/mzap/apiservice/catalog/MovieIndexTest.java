@@ -0,0 +1,133 @@
+package com.mzap.apiservice.catalog;
+
+import com.mzap.apiservice.dto.MovieDTO;
+import com.mzap.apiservice.dto.PageResponse;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MovieIndexTest {
+
+    private final MovieIndex index = new MovieIndex(List.of(
+            new MovieDTO(3L, LocalDateTime.of(2024, 1, 3, 0, 0), "Interstellar", "Sci-Fi", 2014),
+            new MovieDTO(1L, LocalDateTime.of(2024, 1, 1, 0, 0), "The Matrix", "Sci-Fi", 1999),
+            new MovieDTO(2L, LocalDateTime.of(2024, 1, 2, 0, 0), "Heat", "Crime", 1995),
+            new MovieDTO(4L, LocalDateTime.of(2024, 1, 4, 0, 0), "The Matrix Reloaded", "Sci-Fi", 2003),
+            new MovieDTO(5L, LocalDateTime.of(2024, 1, 5, 0, 0), "Up", "Animation", 2009)
+    ));
+
+    @Test
+    @DisplayName("Unfiltered query returns pages in id order")
+    void pagesInIdOrder() {
+        PageResponse<MovieDTO> page = index.findPage(1, 2, null, null, null, null, null, null).orElseThrow();
+
+        assertEquals(List.of(3L, 4L), ids(page));
+        assertEquals(5, page.getTotalElements());
+        assertEquals(3, page.getTotalPages());
+        assertFalse(page.isLast());
+    }
+
+    @Test
+    @DisplayName("Genre, year range and title filters are combined")
+    void combinedFilters() {
+        PageResponse<MovieDTO> page = index.findPage(0, 10, "matrix", "sci-fi", 2000, 2010, null, null).orElseThrow();
+
+        assertEquals(List.of(4L), ids(page));
+        assertEquals(1, page.getTotalElements());
+        assertTrue(page.isLast());
+    }
+
+    @Test
+    @DisplayName("Short title fragments fall back to scanning titles")
+    void shortTitleFragment() {
+        PageResponse<MovieDTO> page = index.findPage(0, 10, "up", null, null, null, null, null).orElseThrow();
+
+        assertEquals(List.of(5L), ids(page));
+    }
+
+    @Test
+    @DisplayName("Pre-sorted orderings honour sort direction")
+    void sortedDescending() {
+        PageResponse<MovieDTO> page = index.findPage(0, 3, null, null, null, null, "releaseYear", "desc").orElseThrow();
+
+        assertEquals(List.of(3L, 5L, 4L), ids(page));
+    }
+
+    @Test
+    @DisplayName("Unknown sort columns are left to storage-service")
+    void unknownSort() {
+        assertTrue(index.findPage(0, 10, null, null, null, null, "rating", "asc").isEmpty());
+    }
+
+    @Test
+    @DisplayName("Local writes replace and remove rows")
+    void localWrites() {
+        MovieIndex updated = index
+                .withMovie(new MovieDTO(2L, LocalDateTime.of(2024, 1, 2, 0, 0), "Heat", "Thriller", 1995))
+                .withoutMovie(5L);
+
+        assertEquals(4, updated.size());
+        assertEquals(List.of(2L), ids(updated.findPage(0, 10, null, "Thriller", null, null, null, null).orElseThrow()));
+        assertEquals(0, updated.findPage(0, 10, "up", null, null, null, null, null).orElseThrow().getTotalElements());
+    }
+
+    @Test
+    @DisplayName("Rows streamed twice are indexed once")
+    void deduplicatesById() {
+        MovieDTO stale = new MovieDTO(1L, LocalDateTime.of(2024, 1, 1, 0, 0), "Heat", "Crime", 1995);
+        MovieDTO fresh = new MovieDTO(1L, LocalDateTime.of(2024, 1, 1, 0, 0), "Heat", "Thriller", 1995);
+
+        MovieIndex deduplicated = new MovieIndex(List.of(stale, fresh));
+        PageResponse<MovieDTO> page = deduplicated.findPage(0, 10, null, null, null, null, null, null).orElseThrow();
+
+        assertEquals(1, page.getTotalElements());
+        assertSame(fresh, page.getContent().get(0));
+    }
+
+    @Test
+    @DisplayName("Patched indexes answer like a full rebuild")
+    void patchesMatchRebuild() {
+        Random random = new Random(42);
+        Map<Long, MovieDTO> catalog = new TreeMap<>();
+        MovieIndex patched = MovieIndex.EMPTY;
+        String[] genres = {"Drama", "Crime", "Sci-Fi", null};
+        String[] sorts = {"id", "title", "genre", "releaseYear", "createdAt"};
+
+        for (int step = 0; step < 500; step++) {
+            long id = random.nextInt(40);
+            if (random.nextInt(3) == 0) {
+                patched = patched.withoutMovie(id);
+                catalog.remove(id);
+            } else {
+                MovieDTO movie = new MovieDTO(id, LocalDateTime.of(2024, 1, 1, 0, 0).plusMinutes(random.nextInt(50)),
+                        "Movie " + random.nextInt(20), genres[random.nextInt(genres.length)], 1990 + random.nextInt(10));
+                patched = patched.withMovie(movie);
+                catalog.put(id, movie);
+            }
+
+            MovieIndex rebuilt = new MovieIndex(catalog.values());
+            String sort = sorts[random.nextInt(sorts.length)];
+            String genre = genres[random.nextInt(genres.length)];
+            String direction = random.nextBoolean() ? "asc" : "desc";
+            assertEquals(
+                    rebuilt.findPage(0, 50, null, genre, 1993, null, sort, direction).orElseThrow().getContent(),
+                    patched.findPage(0, 50, null, genre, 1993, null, sort, direction).orElseThrow().getContent()
+            );
+            assertEquals(
+                    ids(rebuilt.findPage(0, 50, "ie 1", null, null, null, null, null).orElseThrow()),
+                    ids(patched.findPage(0, 50, "ie 1", null, null, null, null, null).orElseThrow())
+            );
+        }
+    }
+
+    private static List<Long> ids(PageResponse<MovieDTO> page) {
+        return page.getContent().stream().map(MovieDTO::getId).toList();
+    }
+}
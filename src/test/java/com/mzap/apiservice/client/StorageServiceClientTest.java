@@ -0,0 +1,103 @@
+package com.mzap.apiservice.client;
+
+import com.mzap.apiservice.deadline.Deadline;
+import com.mzap.apiservice.deadline.DeadlineContext;
+import com.mzap.apiservice.deadline.DeadlineExceededException;
+import com.mzap.apiservice.deadline.DeadlineExchangeFilter;
+import com.mzap.apiservice.dto.MovieDTO;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StorageServiceClientTest {
+    private static final String MOVIE_JSON =
+            "{\"id\":1,\"createdAt\":null,\"title\":\"Heat\",\"genre\":\"Crime\",\"releaseYear\":1995}";
+
+    private final AtomicInteger exchanges = new AtomicInteger();
+    private final AtomicReference<ClientRequest> lastRequest = new AtomicReference<>();
+
+    @AfterEach
+    void clear() {
+        DeadlineContext.clear();
+    }
+
+    @Test
+    @DisplayName("A spent budget fails with DeadlineExceededException rather than a timeout")
+    void timeoutSurfacesAsDeadlineExceeded() {
+        StorageServiceClient client = client(request -> {
+            exchanges.incrementAndGet();
+            return Mono.never();
+        });
+        DeadlineContext.set(Deadline.after(Duration.ofMillis(200)));
+
+        assertThrows(DeadlineExceededException.class, () -> client.getMovieById("cid", 1L));
+        assertEquals(1, exchanges.get());
+    }
+
+    @Test
+    @DisplayName("Attempts are not started below the minimum per-attempt budget")
+    void minimumAttemptBudget() {
+        StorageServiceClient client = client(this::respond);
+        DeadlineContext.set(Deadline.after(Duration.ofMillis(10)));
+
+        assertThrows(DeadlineExceededException.class, () -> client.getMovieById("cid", 1L));
+        assertEquals(0, exchanges.get());
+    }
+
+    @Test
+    @DisplayName("Remaining budget is forwarded even when an earlier filter switches threads")
+    void forwardsDeadlineAcrossThreads() {
+        StorageServiceClient client = client(this::respond);
+        DeadlineContext.set(Deadline.after(Duration.ofSeconds(2)));
+
+        MovieDTO movie = client.getMovieById("cid", 1L);
+
+        assertEquals("Heat", movie.getTitle());
+        long forwarded = Long.parseLong(lastRequest.get().headers().getFirst(DeadlineExchangeFilter.REQUEST_TIMEOUT_HEADER));
+        assertTrue(forwarded > 0 && forwarded <= 2000);
+    }
+
+    @Test
+    @DisplayName("Calls outside a request carry no deadline")
+    void noDeadlineOutsideRequests() {
+        StorageServiceClient client = client(this::respond);
+
+        client.getMovieById("cid", 1L);
+
+        assertNull(lastRequest.get().headers().getFirst(DeadlineExchangeFilter.REQUEST_TIMEOUT_HEADER));
+    }
+
+    private Mono<ClientResponse> respond(ClientRequest request) {
+        exchanges.incrementAndGet();
+        lastRequest.set(request);
+        return Mono.just(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(MOVIE_JSON)
+                .build());
+    }
+
+    private static StorageServiceClient client(ExchangeFunction exchange) {
+        // stands in for the load balancer filter, which may resolve instances on another thread
+        WebClient.Builder builder = WebClient.builder()
+                .exchangeFunction(exchange)
+                .filter((request, next) -> Mono.just(request)
+                        .publishOn(Schedulers.boundedElastic())
+                        .flatMap(next::exchange));
+        return new StorageServiceClient(builder, MediaType.APPLICATION_JSON_VALUE, 100, Duration.ofMillis(50));
+    }
+}
@@ -0,0 +1,50 @@
+package com.mzap.apiservice.config;
+
+import com.mzap.apiservice.deadline.Deadline;
+import com.mzap.apiservice.deadline.DeadlineContext;
+import com.mzap.apiservice.deadline.DeadlineExceededException;
+import io.github.resilience4j.retry.RetryConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ResilienceConfigTest {
+    private final Predicate<Throwable> retryOnException = retryPredicate();
+
+    @AfterEach
+    void clearDeadline() {
+        DeadlineContext.clear();
+    }
+
+    @Test
+    @DisplayName("Retries only when the back-off still leaves the minimum attempt budget")
+    void retriesWithinBudget() {
+        IllegalStateException failure = new IllegalStateException("storage-service failed");
+
+        DeadlineContext.set(Deadline.after(Duration.ofMillis(520)));
+        assertFalse(retryOnException.test(failure));
+
+        DeadlineContext.set(Deadline.after(Duration.ofSeconds(2)));
+        assertTrue(retryOnException.test(failure));
+        assertFalse(retryOnException.test(new DeadlineExceededException("deadline exceeded")));
+    }
+
+    @Test
+    @DisplayName("Calls outside a request are always retried")
+    void retriesWithoutDeadline() {
+        assertTrue(retryOnException.test(new IllegalStateException("storage-service failed")));
+    }
+
+    private static Predicate<Throwable> retryPredicate() {
+        RetryConfig.Builder<Object> builder = RetryConfig.custom();
+        new ResilienceConfig()
+                .storageServiceRetryCustomizer(Duration.ofMillis(500), Duration.ofMillis(50))
+                .customize(builder);
+        return builder.build().getExceptionPredicate();
+    }
+}
@@ -0,0 +1,82 @@
+package com.mzap.apiservice.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.json.JsonTest;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@JsonTest
+class MovieDTOTest {
+    private static final Logger logger = LoggerFactory.getLogger(MovieDTOTest.class);
+    private static final int MOVIES = 10_000;
+
+    // the mapper Boot configures for the controllers, so spring.jackson.* defaults apply
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Test
+    @DisplayName("JSON shape is unchanged, including null identity on create payloads")
+    void wireFormat() throws Exception {
+        MovieDTO movie = new MovieDTO(7L, LocalDateTime.of(2024, 5, 6, 7, 8, 9, 123456789), "Heat", "Crime", 1995);
+
+        assertEquals(
+                "{\"id\":7,\"createdAt\":\"2024-05-06T07:08:09.123456789\",\"title\":\"Heat\",\"genre\":\"Crime\",\"releaseYear\":1995}",
+                objectMapper.writeValueAsString(movie)
+        );
+        assertEquals(
+                "{\"id\":null,\"createdAt\":null,\"title\":\"Heat\",\"genre\":\"Crime\",\"releaseYear\":1995}",
+                objectMapper.writeValueAsString(movie.withoutIdentity())
+        );
+    }
+
+    @Test
+    @DisplayName("Pages deserialize into immutable content with canonical genres")
+    void deserializePage() throws Exception {
+        String json = "{\"content\":["
+                + "{\"id\":1,\"createdAt\":\"2024-01-01T10:00:00\",\"title\":\"A\",\"genre\":\"Drama\",\"releaseYear\":2001},"
+                + "{\"id\":2,\"createdAt\":null,\"title\":\"B\",\"genre\":\"Drama\",\"releaseYear\":2002}"
+                + "],\"page\":0,\"size\":2,\"totalElements\":2,\"totalPages\":1,\"last\":true}";
+
+        PageResponse<MovieDTO> page = objectMapper.readValue(json, new TypeReference<>() {});
+
+        assertEquals(2, page.getContent().size());
+        assertSame(page.getContent().get(0).getGenre(), page.getContent().get(1).getGenre());
+        assertEquals(LocalDateTime.of(2024, 1, 1, 10, 0), page.getContent().get(0).getCreatedAt());
+        assertNull(page.getContent().get(1).getCreatedAt());
+        assertThrows(UnsupportedOperationException.class, () -> page.getContent().add(new MovieDTO()));
+    }
+
+    @Test
+    @DisplayName("Reports retained heap per 10k movies")
+    void heapFootprint() {
+        Runtime runtime = Runtime.getRuntime();
+        long before = usedAfterGc(runtime);
+
+        List<MovieDTO> movies = IntStream.range(0, MOVIES)
+                .mapToObj(i -> new MovieDTO((long) i, LocalDateTime.of(2024, 1, 1, 0, 0).plusSeconds(i),
+                        "Movie " + i, new String(i % 2 == 0 ? "Drama" : "Comedy"), 1900 + i % 120))
+                .toList();
+
+        long retained = usedAfterGc(runtime) - before;
+        logger.info("Retained ~{} KiB for {} movies (~{} bytes per movie including titles)",
+                retained / 1024, movies.size(), retained / movies.size());
+        assertSame(movies.get(0).getGenre(), movies.get(MOVIES - 2).getGenre());
+    }
+
+    private static long usedAfterGc(Runtime runtime) {
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+}
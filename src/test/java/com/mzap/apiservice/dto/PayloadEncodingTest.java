@@ -0,0 +1,60 @@
+package com.mzap.apiservice.dto;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.time.LocalDateTime;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PayloadEncodingTest {
+    private static final Logger logger = LoggerFactory.getLogger(PayloadEncodingTest.class);
+    private static final TypeReference<PageResponse<MovieDTO>> PAGE_TYPE = new TypeReference<>() {};
+    private static final int ROUNDS = 200;
+
+    private final PageResponse<MovieDTO> page = new PageResponse<>(
+            LongStream.rangeClosed(1, 100)
+                    .mapToObj(id -> new MovieDTO(id, LocalDateTime.of(2024, 1, 1, 12, 0).plusMinutes(id),
+                            "Movie number " + id, id % 2 == 0 ? "Drama" : "Sci-Fi", 1950 + (int) (id % 70)))
+                    .toList(),
+            0, 100, 1000, 10, false
+    );
+
+    @Test
+    @DisplayName("Binary encodings round-trip a page and are smaller than JSON")
+    void compareEncodings() throws Exception {
+        ObjectMapper json = Jackson2ObjectMapperBuilder.json().build();
+        ObjectMapper cbor = Jackson2ObjectMapperBuilder.cbor().build();
+        ObjectMapper smile = Jackson2ObjectMapperBuilder.smile().build();
+
+        int jsonBytes = measure("json", json);
+        int cborBytes = measure("cbor", cbor);
+        int smileBytes = measure("smile", smile);
+
+        assertTrue(cborBytes < jsonBytes, "CBOR should be smaller than JSON");
+        assertTrue(smileBytes < jsonBytes, "Smile should be smaller than JSON");
+    }
+
+    private int measure(String format, ObjectMapper mapper) throws Exception {
+        byte[] encoded = mapper.writeValueAsBytes(page);
+        PageResponse<MovieDTO> decoded = mapper.readValue(encoded, PAGE_TYPE);
+        assertEquals(page.getContent().size(), decoded.getContent().size());
+        assertEquals(page.getContent().get(41).getCreatedAt(), decoded.getContent().get(41).getCreatedAt());
+        assertEquals(page.getContent().get(41).getTitle(), decoded.getContent().get(41).getTitle());
+
+        long start = System.nanoTime();
+        for (int round = 0; round < ROUNDS; round++) {
+            mapper.readValue(mapper.writeValueAsBytes(page), PAGE_TYPE);
+        }
+        long micros = (System.nanoTime() - start) / 1_000 / ROUNDS;
+
+        logger.info("{}: {} bytes per 100-movie page, ~{} us per encode+decode", format, encoded.length, micros);
+        return encoded.length;
+    }
+}
@@ -0,0 +1,74 @@
+package com.mzap.apiservice.interceptor;
+
+import com.mzap.apiservice.deadline.DeadlineContext;
+import com.mzap.apiservice.deadline.RequestTimeout;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.web.method.HandlerMethod;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineInterceptorTest {
+
+    private final DeadlineInterceptor interceptor = new DeadlineInterceptor(Duration.ofSeconds(5), Duration.ofSeconds(30));
+    private final MockHttpServletRequest request = new MockHttpServletRequest();
+    private final MockHttpServletResponse response = new MockHttpServletResponse();
+
+    @AfterEach
+    void clear() {
+        DeadlineContext.clear();
+    }
+
+    @Test
+    @DisplayName("Client supplied timeout header sets the request deadline")
+    void headerBudget() throws Exception {
+        request.addHeader(DeadlineInterceptor.REQUEST_TIMEOUT_HEADER, "1500");
+
+        interceptor.preHandle(request, response, handler("annotated"));
+
+        Duration remaining = DeadlineContext.current().remaining();
+        assertTrue(remaining.compareTo(Duration.ofMillis(1500)) <= 0);
+        assertTrue(remaining.compareTo(Duration.ofMillis(1000)) > 0);
+        assertFalse(DeadlineContext.hasBudgetFor(Duration.ofSeconds(2)));
+    }
+
+    @Test
+    @DisplayName("Endpoint default applies without a header and budgets are capped")
+    void endpointDefaultAndCap() throws Exception {
+        interceptor.preHandle(request, response, handler("annotated"));
+        assertTrue(DeadlineContext.current().remaining().compareTo(Duration.ofMillis(250)) <= 0);
+
+        MockHttpServletRequest greedy = new MockHttpServletRequest();
+        greedy.addHeader(DeadlineInterceptor.REQUEST_TIMEOUT_HEADER, "600000");
+        interceptor.preHandle(greedy, response, handler("plain"));
+        assertTrue(DeadlineContext.current().remaining().compareTo(Duration.ofSeconds(30)) <= 0);
+    }
+
+    @Test
+    @DisplayName("Deadline is cleared after completion")
+    void clearedAfterCompletion() throws Exception {
+        interceptor.preHandle(request, response, handler("plain"));
+        interceptor.afterCompletion(request, response, handler("plain"), null);
+
+        assertNull(DeadlineContext.current());
+        assertTrue(DeadlineContext.hasBudgetFor(Duration.ofHours(1)));
+    }
+
+    private static HandlerMethod handler(String name) throws NoSuchMethodException {
+        return new HandlerMethod(new Handlers(), Handlers.class.getMethod(name));
+    }
+
+    static class Handlers {
+        @RequestTimeout("250ms")
+        public void annotated() {
+        }
+
+        public void plain() {
+        }
+    }
+}
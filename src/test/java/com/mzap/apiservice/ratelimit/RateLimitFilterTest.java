@@ -0,0 +1,102 @@
+package com.mzap.apiservice.ratelimit;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationToken;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimitFilterTest {
+
+    private final RateLimitProperties properties = new RateLimitProperties(true, 10, 5, 1, List.of(
+            new RateLimitProperties.EndpointCost("GET", "/movies", 5),
+            new RateLimitProperties.EndpointCost("DELETE", "/movies/*", 10)
+    ));
+    private final RateLimiter rateLimiter = new RateLimiter(10, 5, () -> TimeUnit.HOURS.toNanos(1));
+    private final RateLimitFilter filter = new RateLimitFilter(rateLimiter, properties);
+
+    @AfterEach
+    void clearSecurityContext() {
+        SecurityContextHolder.clearContext();
+    }
+
+    @Test
+    @DisplayName("Requests are charged per endpoint cost and report RateLimit headers")
+    void chargesEndpointCost() throws Exception {
+        authenticate("alice");
+
+        MockHttpServletResponse listing = perform("GET", "/movies");
+        assertEquals(200, listing.getStatus());
+        assertEquals("10", listing.getHeader(RateLimitFilter.LIMIT_HEADER));
+        assertEquals("5", listing.getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertEquals("1", listing.getHeader(RateLimitFilter.RESET_HEADER));
+
+        MockHttpServletResponse single = perform("GET", "/movies/1");
+        assertEquals("4", single.getHeader(RateLimitFilter.REMAINING_HEADER));
+    }
+
+    @Test
+    @DisplayName("Exhausted buckets get 429 with Retry-After and the request is not forwarded")
+    void rejectsWithRetryAfter() throws Exception {
+        authenticate("alice");
+        perform("DELETE", "/movies/1");
+
+        MockFilterChain chain = new MockFilterChain();
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(request("GET", "/movies"), rejected, chain);
+
+        assertEquals(429, rejected.getStatus());
+        assertEquals("1", rejected.getHeader(HttpHeaders.RETRY_AFTER));
+        assertEquals("0", rejected.getHeader(RateLimitFilter.REMAINING_HEADER));
+        assertNull(chain.getRequest());
+    }
+
+    @Test
+    @DisplayName("Buckets are keyed on the JWT subject, or the client address when anonymous")
+    void keysBySubjectOrAddress() throws Exception {
+        authenticate("alice");
+        perform("DELETE", "/movies/1");
+        assertEquals(429, perform("GET", "/movies/1").getStatus());
+
+        authenticate("bob");
+        assertEquals("9", perform("GET", "/movies/1").getHeader(RateLimitFilter.REMAINING_HEADER));
+
+        SecurityContextHolder.clearContext();
+        MockHttpServletRequest anonymous = request("GET", "/actuator/health");
+        anonymous.setRemoteAddr("10.0.0.1");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(anonymous, response, new MockFilterChain());
+        assertEquals("9", response.getHeader(RateLimitFilter.REMAINING_HEADER));
+
+        MockHttpServletRequest sameAddress = request("GET", "/actuator/health");
+        sameAddress.setRemoteAddr("10.0.0.1");
+        response = new MockHttpServletResponse();
+        filter.doFilter(sameAddress, response, new MockFilterChain());
+        assertEquals("8", response.getHeader(RateLimitFilter.REMAINING_HEADER));
+    }
+
+    private MockHttpServletResponse perform(String method, String uri) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(method, uri), response, new MockFilterChain());
+        return response;
+    }
+
+    private static MockHttpServletRequest request(String method, String uri) {
+        return new MockHttpServletRequest(method, uri);
+    }
+
+    private static void authenticate(String subject) {
+        Jwt jwt = Jwt.withTokenValue("token").header("alg", "HS256").subject(subject).build();
+        SecurityContextHolder.getContext().setAuthentication(new JwtAuthenticationToken(jwt));
+    }
+}
@@ -0,0 +1,100 @@
+package com.mzap.apiservice.ratelimit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RateLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+    private final RateLimiter rateLimiter = new RateLimiter(10, 5, clock::get);
+
+    @Test
+    @DisplayName("Bursts up to capacity are allowed, then requests are rejected with a retry hint")
+    void burstThenReject() {
+        for (int i = 0; i < 10; i++) {
+            assertTrue(rateLimiter.tryConsume("subject:alice", 1).allowed());
+        }
+
+        RateLimiter.Decision rejected = rateLimiter.tryConsume("subject:alice", 1);
+        assertFalse(rejected.allowed());
+        assertEquals(0, rejected.remaining());
+        assertEquals(1, rejected.retryAfterSeconds());
+    }
+
+    @Test
+    @DisplayName("Tokens refill over time and heavier endpoints cost more")
+    void refillAndCost() {
+        assertTrue(rateLimiter.tryConsume("subject:alice", 10).allowed());
+        assertFalse(rateLimiter.tryConsume("subject:alice", 5).allowed());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(1));
+
+        RateLimiter.Decision decision = rateLimiter.tryConsume("subject:alice", 5);
+        assertTrue(decision.allowed());
+        assertEquals(0, decision.remaining());
+    }
+
+    @Test
+    @DisplayName("Subjects are limited independently")
+    void independentKeys() {
+        assertTrue(rateLimiter.tryConsume("subject:alice", 10).allowed());
+        assertFalse(rateLimiter.tryConsume("subject:alice", 1).allowed());
+
+        RateLimiter.Decision other = rateLimiter.tryConsume("anonymous:10.0.0.1", 1);
+        assertTrue(other.allowed());
+        assertEquals(9, other.remaining());
+    }
+
+    @Test
+    @DisplayName("Fully refilled buckets are evicted")
+    void evictIdle() {
+        rateLimiter.tryConsume("subject:alice", 10);
+        rateLimiter.tryConsume("subject:bob", 1);
+
+        clock.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(1, rateLimiter.evictIdle());
+
+        clock.addAndGet(TimeUnit.SECONDS.toNanos(2));
+        assertEquals(1, rateLimiter.evictIdle());
+        assertEquals(0, rateLimiter.size());
+    }
+
+    @Test
+    @DisplayName("Charges racing with eviction are never lost")
+    void evictionDoesNotLoseCharges() throws Exception {
+        int keys = 20_000;
+        AtomicBoolean charging = new AtomicBoolean(true);
+        Thread evictor = new Thread(() -> {
+            while (charging.get()) {
+                rateLimiter.evictIdle();
+            }
+        });
+        evictor.start();
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int worker = 0; worker < 4; worker++) {
+                int offset = worker;
+                executor.submit(() -> {
+                    for (int key = offset; key < keys; key += 4) {
+                        rateLimiter.tryConsume("subject:" + key, 1);
+                    }
+                });
+            }
+        } finally {
+            charging.set(false);
+            evictor.join();
+        }
+
+        // a fresh bucket is full and evictable until its first charge lands; the charge must survive that
+        for (int key = 0; key < keys; key++) {
+            assertEquals(9, rateLimiter.tryConsume("subject:" + key, 0).remaining(), "charge lost for key " + key);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package com.mzap.apiservice.warmup;
+
+import com.mzap.apiservice.client.StorageServiceClient;
+import com.mzap.apiservice.deadline.DeadlineExchangeFilter;
+import com.mzap.apiservice.ratelimit.RateLimitProperties;
+import com.sun.net.httpserver.HttpServer;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.support.StaticListableBeanFactory;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.cloud.client.DefaultServiceInstance;
+import org.springframework.cloud.client.ServiceInstance;
+import org.springframework.cloud.client.loadbalancer.DefaultResponse;
+import org.springframework.cloud.client.loadbalancer.reactive.ReactiveLoadBalancer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.mock.env.MockEnvironment;
+import org.springframework.security.oauth2.jwt.NimbusJwtDecoder;
+import reactor.core.publisher.Mono;
+
+import javax.crypto.spec.SecretKeySpec;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+
+class WarmupRunnerTest {
+    private static final String SECRET = "dev-jwt-secret-dev-jwt-secret-dev-jwt-secret-dev-jwt-secret";
+    private static final String MOVIE =
+            "{\"id\":1,\"createdAt\":\"2024-01-01T10:00:00\",\"title\":\"Heat\",\"genre\":\"Crime\",\"releaseYear\":1995}";
+    private static final String PAGE =
+            "{\"content\":[" + MOVIE + "],\"page\":0,\"size\":10,\"totalElements\":1,\"totalPages\":1,\"last\":true}";
+    private static final int ITERATIONS = 3;
+    private static final Duration WARMUP_TIMEOUT = Duration.ofSeconds(30);
+
+    private final List<String> authorizations = new CopyOnWriteArrayList<>();
+    private final List<String> requestTimeouts = new CopyOnWriteArrayList<>();
+    private final StorageServiceClient storageServiceClient = Mockito.mock(StorageServiceClient.class);
+    private final CircuitBreakerRegistry circuitBreakerRegistry = CircuitBreakerRegistry.ofDefaults();
+    private final MeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private HttpServer server;
+
+    @BeforeEach
+    void startServer() throws Exception {
+        // stands in for this instance's own HTTP stack
+        server = HttpServer.create(new InetSocketAddress("localhost", 0), 0);
+        server.createContext("/movies", exchange -> {
+            authorizations.add(exchange.getRequestHeaders().getFirst(HttpHeaders.AUTHORIZATION));
+            requestTimeouts.add(exchange.getRequestHeaders().getFirst(DeadlineExchangeFilter.REQUEST_TIMEOUT_HEADER));
+            String json = exchange.getRequestURI().getPath().equals("/movies") ? PAGE : MOVIE;
+            byte[] body = json.getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add(HttpHeaders.CONTENT_TYPE, "application/json");
+            exchange.sendResponseHeaders(200, body.length);
+            exchange.getResponseBody().write(body);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.stop(0);
+    }
+
+    @Test
+    @DisplayName("Endpoints are exercised within the warm-up budget with a token only the runner can mint")
+    void exercisesEndpoints() {
+        Mockito.when(storageServiceClient.openConnection(anyString())).thenReturn(Mono.empty());
+
+        runner(ITERATIONS).run(new DefaultApplicationArguments());
+
+        // a listing and a single movie per iteration
+        assertEquals(2 * ITERATIONS, authorizations.size());
+        assertTrue(requestTimeouts.stream()
+                .allMatch(timeout -> timeout != null && Long.parseLong(timeout) <= WARMUP_TIMEOUT.toMillis()));
+        String token = authorizations.getFirst().substring("Bearer ".length());
+        NimbusJwtDecoder decoder = NimbusJwtDecoder
+                .withSecretKey(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"))
+                .build();
+        assertEquals("api-service-warmup", decoder.decode(token).getSubject());
+        assertNotNull(meterRegistry.find("application.warmup.time").timeGauge());
+    }
+
+    @Test
+    @DisplayName("Nothing goes through the circuit breaker while storage-service is down")
+    void skipsEndpointsWhenStorageIsDown() {
+        Mockito.when(storageServiceClient.openConnection(anyString()))
+                .thenReturn(Mono.error(new IllegalStateException("connection refused")));
+
+        runner(ITERATIONS).run(new DefaultApplicationArguments());
+
+        assertTrue(authorizations.isEmpty());
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker("storageService");
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfBufferedCalls());
+        Mockito.verify(storageServiceClient, Mockito.never())
+                .getMoviesPage(any(), Mockito.anyInt(), Mockito.anyInt(), any(), any(), any(), any(), any(), any());
+        assertNotNull(meterRegistry.find("application.warmup.time").timeGauge());
+    }
+
+    @Test
+    @DisplayName("Failures recorded during warm-up stop it and are reset before taking traffic")
+    void resetsBreakerAfterWarmupFailures() {
+        CircuitBreaker circuitBreaker = circuitBreakerRegistry.circuitBreaker("storageService");
+        Mockito.when(storageServiceClient.openConnection(anyString())).thenReturn(Mono.fromRunnable(() ->
+                circuitBreaker.onError(0, TimeUnit.MILLISECONDS, new IllegalStateException("storage-service failed"))));
+
+        runner(ITERATIONS).run(new DefaultApplicationArguments());
+
+        assertTrue(authorizations.isEmpty());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreaker.getState());
+        assertEquals(0, circuitBreaker.getMetrics().getNumberOfFailedCalls());
+    }
+
+    @Test
+    @DisplayName("Iterations are capped by what the warm-up subject's rate limit bucket can pay for")
+    void cappedByRateLimitCapacity() {
+        Mockito.when(storageServiceClient.openConnection(anyString())).thenReturn(Mono.empty());
+
+        // each iteration costs 5 + 1 of the 100 tokens
+        runner(20).run(new DefaultApplicationArguments());
+
+        assertEquals(2 * 16, authorizations.size());
+    }
+
+    @SuppressWarnings("unchecked")
+    private WarmupRunner runner(int iterations) {
+        ServiceInstance instance = new DefaultServiceInstance("storage-1", "storage-service", "localhost", 8081, false);
+        ReactiveLoadBalancer<ServiceInstance> loadBalancer = request -> Mono.just(new DefaultResponse(instance));
+        ReactiveLoadBalancer.Factory<ServiceInstance> loadBalancerFactory = Mockito.mock(ReactiveLoadBalancer.Factory.class);
+        Mockito.when(loadBalancerFactory.getInstance("storage-service")).thenReturn(loadBalancer);
+
+        return new WarmupRunner(
+                loadBalancerFactory,
+                storageServiceClient,
+                circuitBreakerRegistry,
+                new RateLimitProperties(true, 100, 20, 1,
+                        List.of(new RateLimitProperties.EndpointCost("GET", "/movies", 5))),
+                new MockEnvironment().withProperty("local.server.port", String.valueOf(server.getAddress().getPort())),
+                new StaticListableBeanFactory(Map.of("meterRegistry", meterRegistry)).getBeanProvider(MeterRegistry.class),
+                SECRET,
+                WARMUP_TIMEOUT,
+                2,
+                iterations
+        );
+    }
+}
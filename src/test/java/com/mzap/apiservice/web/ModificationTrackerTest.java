@@ -0,0 +1,120 @@
+package com.mzap.apiservice.web;
+
+import com.mzap.apiservice.dto.MovieDTO;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ModificationTrackerTest {
+    private static final LocalDateTime CREATED_AT = LocalDateTime.of(2024, 1, 1, 10, 0);
+
+    private final TestClock clock = new TestClock();
+    private final ModificationTracker tracker = new ModificationTracker(clock, 2);
+
+    @Test
+    @DisplayName("Versions seen within the same second get strictly later whole-second stamps")
+    void sameSecondVersions() {
+        MovieDTO v1 = movie("Heat");
+        MovieDTO v2 = movie("Heat (1995)");
+
+        clock.millis = 100_300;
+        assertEquals(Optional.empty(), tracker.lastModified(v1, 100_200));
+        clock.millis = 100_700;
+        assertEquals(Optional.empty(), tracker.lastModified(v2, 100_600));
+
+        clock.millis = 103_000;
+        assertEquals(Optional.of(Instant.ofEpochMilli(102_000)), tracker.lastModified(v2, 103_000));
+    }
+
+    @Test
+    @DisplayName("A version replacing one whose stamp was sent is stamped strictly later")
+    void replacesSentStamp() {
+        MovieDTO v1 = movie("Heat");
+        MovieDTO v2 = movie("Heat (1995)");
+
+        clock.millis = 100_300;
+        tracker.lastModified(v1, 100_200);
+        clock.millis = 101_500;
+        Instant sent = tracker.lastModified(v1, 101_400).orElseThrow();
+        assertEquals(Instant.ofEpochMilli(101_000), sent);
+
+        clock.millis = 101_800;
+        tracker.modified(v2);
+        assertEquals(Optional.empty(), tracker.lastModified(v2, 101_900));
+
+        clock.millis = 102_100;
+        Instant next = tracker.lastModified(v2, 102_000).orElseThrow();
+        assertTrue(next.getEpochSecond() > sent.getEpochSecond());
+    }
+
+    @Test
+    @DisplayName("Stamps are withheld until the storage read started after them")
+    void withheldUntilReadStartsAfterStamp() {
+        MovieDTO movie = movie("Heat");
+
+        clock.millis = 100_300;
+        tracker.lastModified(movie, 100_200);
+        clock.millis = 101_050;
+
+        assertEquals(Optional.empty(), tracker.lastModified(movie, 100_950));
+        assertEquals(Optional.of(Instant.ofEpochMilli(101_000)), tracker.lastModified(movie, 101_000));
+    }
+
+    @Test
+    @DisplayName("Least recently used movies are evicted and stamped afresh, later than before")
+    void evictsLeastRecentlyUsed() {
+        MovieDTO heat = movie("Heat");
+
+        clock.millis = 100_300;
+        tracker.lastModified(heat, 100_200);
+        clock.millis = 101_500;
+        Instant sent = tracker.lastModified(heat, 101_400).orElseThrow();
+
+        tracker.modified(movie(2L, "Up"));
+        tracker.modified(movie(3L, "Alien"));
+
+        assertEquals(Optional.empty(), tracker.lastModified(heat, 101_600));
+        clock.millis = 102_100;
+        assertTrue(tracker.lastModified(heat, 102_000).orElseThrow().isAfter(sent));
+    }
+
+    private static MovieDTO movie(String title) {
+        return movie(1L, title);
+    }
+
+    private static MovieDTO movie(Long id, String title) {
+        return new MovieDTO(id, CREATED_AT, title, "Crime", 1995);
+    }
+
+    private static final class TestClock extends Clock {
+        private long millis;
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
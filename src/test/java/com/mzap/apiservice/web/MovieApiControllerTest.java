@@ -1,6 +1,9 @@
 package com.mzap.apiservice.web;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.cbor.databind.CBORMapper;
+import com.fasterxml.jackson.dataformat.smile.databind.SmileMapper;
+import com.mzap.apiservice.catalog.CatalogReplica;
 import com.mzap.apiservice.client.StorageServiceClient;
 import com.mzap.apiservice.dto.MovieDTO;
 import com.mzap.apiservice.dto.PageResponse;
@@ -10,6 +13,8 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
@@ -17,6 +22,9 @@ import org.springframework.test.web.servlet.MockMvc;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.hamcrest.Matchers.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -25,6 +33,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
 
 @WebMvcTest(controllers = MovieApiController.class)
 @AutoConfigureMockMvc(addFilters = false)
+@Import(ModificationTracker.class)
 class MovieApiControllerTest {
 
     @Autowired
@@ -34,6 +43,9 @@ class MovieApiControllerTest {
     @MockitoBean
     private StorageServiceClient storageServiceClient;
 
+    @MockitoBean
+    private CatalogReplica catalogReplica;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -95,6 +107,103 @@ class MovieApiControllerTest {
                 .andExpect(jsonPath("$.title", is("New Movie")));
     }
 
+    @Test
+    @DisplayName("GET /movies/{id} returns an ETag and 304 for a matching If-None-Match")
+    void getMovie_conditional() throws Exception {
+        MovieDTO movie = new MovieDTO(2L, LocalDateTime.of(2024, 1, 1, 10, 0), "New Movie", "Genre", 2025);
+        Mockito.when(storageServiceClient.getMovieById(any(), eq(2L))).thenReturn(movie);
+
+        String etag = mockMvc.perform(get("/movies/2"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists(HttpHeaders.ETAG))
+                .andExpect(header().string(HttpHeaders.VARY, containsString(HttpHeaders.ACCEPT)))
+                // first seen during this second: stamped with the next one, which cannot be sent yet
+                .andExpect(header().doesNotExist(HttpHeaders.LAST_MODIFIED))
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/movies/2").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string(HttpHeaders.ETAG, etag))
+                .andExpect(content().bytes(new byte[0]));
+
+        MovieDTO changed = new MovieDTO(2L, movie.getCreatedAt(), "Renamed Movie", "Genre", 2025);
+        Mockito.when(storageServiceClient.getMovieById(any(), eq(2L))).thenReturn(changed);
+
+        mockMvc.perform(get("/movies/2").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.title", is("Renamed Movie")));
+    }
+
+    @Test
+    @DisplayName("GET /movies returns 304 for a matching If-None-Match")
+    void listMovies_conditional() throws Exception {
+        MovieDTO movie = new MovieDTO(1L, LocalDateTime.now(), "New Movie", "Genre", 2025);
+        PageResponse<MovieDTO> page = new PageResponse<>(List.of(movie), 0, 10, 1, 1, true);
+        Mockito.when(storageServiceClient.getMoviesPage(any(), anyInt(), anyInt(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(page);
+
+        String etag = mockMvc.perform(get("/movies"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        mockMvc.perform(get("/movies").header(HttpHeaders.IF_NONE_MATCH, etag))
+                .andExpect(status().isNotModified());
+    }
+
+    @Test
+    @DisplayName("GET /movies/{id} sends a different ETag per negotiated representation")
+    void getMovie_etagPerRepresentation() throws Exception {
+        MovieDTO movie = new MovieDTO(2L, LocalDateTime.now(), "New Movie", "Genre", 2025);
+        Mockito.when(storageServiceClient.getMovieById(any(), eq(2L))).thenReturn(movie);
+
+        String jsonEtag = mockMvc.perform(get("/movies/2").accept(MediaType.APPLICATION_JSON))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+        String cborEtag = mockMvc.perform(get("/movies/2").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        assertNotEquals(jsonEtag, cborEtag);
+        mockMvc.perform(get("/movies/2").accept("application/cbor").header(HttpHeaders.IF_NONE_MATCH, jsonEtag))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"));
+    }
+
+    @Test
+    @DisplayName("GET /movies/{id} negotiates CBOR via Accept header")
+    void getMovie_cbor() throws Exception {
+        MovieDTO movie = new MovieDTO(2L, LocalDateTime.now(), "New Movie", "Genre", 2025);
+        Mockito.when(storageServiceClient.getMovieById(any(), eq(2L))).thenReturn(movie);
+
+        byte[] body = mockMvc.perform(get("/movies/2").accept("application/cbor"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/cbor"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        MovieDTO decoded = CBORMapper.builder().findAndAddModules().build().readValue(body, MovieDTO.class);
+        assertEquals("New Movie", decoded.getTitle());
+        assertEquals(movie.getCreatedAt(), decoded.getCreatedAt());
+        // Boot's spring.jackson settings apply, so dates are ISO strings as in JSON rather than arrays
+        assertTrue(CBORMapper.builder().build().readTree(body).get("createdAt").isTextual());
+    }
+
+    @Test
+    @DisplayName("GET /movies negotiates Smile via Accept header")
+    void listMovies_smile() throws Exception {
+        MovieDTO movie = new MovieDTO(1L, LocalDateTime.now(), "New Movie", "Genre", 2025);
+        PageResponse<MovieDTO> page = new PageResponse<>(List.of(movie), 0, 10, 1, 1, true);
+        Mockito.when(storageServiceClient.getMoviesPage(any(), anyInt(), anyInt(), any(), any(), any(), any(), any(), any()))
+                .thenReturn(page);
+
+        byte[] body = mockMvc.perform(get("/movies").accept("application/x-jackson-smile"))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType("application/x-jackson-smile"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertEquals("New Movie",
+                SmileMapper.builder().findAndAddModules().build().readTree(body).at("/content/0/title").asText());
+    }
+
     @Test
     @DisplayName("POST /movies should create and return 201")
     void createMovie() throws Exception {
@@ -145,10 +254,23 @@ class MovieApiControllerTest {
     @Test
     @DisplayName("DELETE /movies/{id} should return 204")
     void deleteMovie() throws Exception {
-        Mockito.doNothing().when(storageServiceClient).deleteMovie(any(), eq(5L));
+        Mockito.when(storageServiceClient.deleteMovie(any(), eq(5L))).thenReturn(true);
 
         mockMvc.perform(delete("/movies/5"))
                 .andExpect(status().isNoContent());
+
+        Mockito.verify(catalogReplica).remove(5L);
+    }
+
+    @Test
+    @DisplayName("DELETE /movies/{id} leaves the replica alone when storage-service did not confirm")
+    void deleteMovie_fallback() throws Exception {
+        Mockito.when(storageServiceClient.deleteMovie(any(), eq(6L))).thenReturn(false);
+
+        mockMvc.perform(delete("/movies/6"))
+                .andExpect(status().isNoContent());
+
+        Mockito.verify(catalogReplica, Mockito.never()).remove(any());
     }
 
     @Test